@@ -0,0 +1,33 @@
+package org.example.taskproject;
+
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.SQLException;
+
+/**
+ * JDBC access for database-backed benchmarks. Points at the docker-compose Postgres with the
+ * Liquibase schema applied; override with BENCH_JDBC_URL, BENCH_JDBC_USER and DB_PASSWORD.
+ */
+public final class BenchmarkDatabase {
+
+    private static final String URL = env("BENCH_JDBC_URL", "jdbc:postgresql://localhost:5432/task");
+    private static final String USER = env("BENCH_JDBC_USER", "postgres");
+    private static final String PASSWORD = env("DB_PASSWORD", "postgres");
+
+    private BenchmarkDatabase() {
+    }
+
+    public static Connection connect() throws SQLException {
+        return DriverManager.getConnection(URL, USER, PASSWORD);
+    }
+
+    public static Connection connect(String extraParameters) throws SQLException {
+        String separator = URL.contains("?") ? "&" : "?";
+        return DriverManager.getConnection(URL + separator + extraParameters, USER, PASSWORD);
+    }
+
+    private static String env(String name, String defaultValue) {
+        String value = System.getenv(name);
+        return value == null || value.isBlank() ? defaultValue : value;
+    }
+}
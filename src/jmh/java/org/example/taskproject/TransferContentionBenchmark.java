@@ -0,0 +1,187 @@
+package org.example.taskproject;
+
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.BenchmarkParams;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.math.BigDecimal;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * N threads moving money back and forth between the same two hot cards.
+ * Compares the old read-modify-write transfer with the id-ordered conditional UPDATE used by
+ * UserServiceImpl.transaction. After each trial the total balance must be unchanged: a drift fails
+ * the ordered trial, while the legacy path logs the amount it lost or created through lost updates.
+ * Run with {@code ./gradlew jmh -PjmhIncludes=TransferContentionBenchmark}.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 2, time = 5)
+@Measurement(iterations = 5, time = 5)
+@Threads(16)
+@Fork(1)
+public class TransferContentionBenchmark {
+
+    private static final Logger log = LoggerFactory.getLogger(TransferContentionBenchmark.class);
+
+    private static final BigDecimal INITIAL_BALANCE = new BigDecimal("1000000.00");
+    private static final BigDecimal AMOUNT = new BigDecimal("1.00");
+
+    @State(Scope.Benchmark)
+    public static class HotCards {
+        long userId;
+        long firstCardId;
+        long secondCardId;
+
+        @Setup(Level.Trial)
+        public void createCards() throws SQLException {
+            try (Connection connection = BenchmarkDatabase.connect();
+                 Statement statement = connection.createStatement()) {
+                String suffix = Long.toString(System.nanoTime());
+                try (ResultSet rs = statement.executeQuery(
+                        "insert into users (username, password, email, user_status) values ('bench" + suffix
+                                + "', 'x', 'bench" + suffix + "@bench.local', 'ACTIVE') returning id")) {
+                    rs.next();
+                    userId = rs.getLong(1);
+                }
+                firstCardId = insertCard(statement, "90" + suffix.substring(suffix.length() - 14));
+                secondCardId = insertCard(statement, "91" + suffix.substring(suffix.length() - 14));
+            }
+        }
+
+        @TearDown(Level.Trial)
+        public void verifyAndDrop(BenchmarkParams params) throws SQLException {
+            BigDecimal drift;
+            try (Connection connection = BenchmarkDatabase.connect();
+                 Statement statement = connection.createStatement()) {
+                try (ResultSet rs = statement.executeQuery(
+                        "select sum(balance) from cards where user_id = " + userId)) {
+                    rs.next();
+                    drift = rs.getBigDecimal(1).subtract(INITIAL_BALANCE.multiply(BigDecimal.TWO));
+                }
+                statement.executeUpdate("delete from cards where user_id = " + userId);
+                statement.executeUpdate("delete from users where id = " + userId);
+            }
+
+            if (drift.signum() == 0) {
+                log.info("Total balance consistent after trial: benchmark={}", params.getBenchmark());
+            } else if (params.getBenchmark().endsWith("legacyReadModifyWrite")) {
+                log.warn("Total balance drift after trial: benchmark={}, drift={}", params.getBenchmark(), drift);
+            } else {
+                throw new IllegalStateException("Total balance drift after trial: benchmark="
+                        + params.getBenchmark() + ", drift=" + drift);
+            }
+        }
+
+        private long insertCard(Statement statement, String cardNumber) throws SQLException {
+            try (ResultSet rs = statement.executeQuery(
+                    "insert into cards (card_number, user_id, expiration_date, card_status, balance) values ('"
+                            + cardNumber + "', " + userId + ", current_date + 730, 'ACTIVE', "
+                            + INITIAL_BALANCE + ") returning id")) {
+                rs.next();
+                return rs.getLong(1);
+            }
+        }
+    }
+
+    @State(Scope.Thread)
+    public static class Session {
+        Connection connection;
+
+        @Setup(Level.Trial)
+        public void open() throws SQLException {
+            connection = BenchmarkDatabase.connect();
+            connection.setAutoCommit(false);
+        }
+
+        @TearDown(Level.Trial)
+        public void close() throws SQLException {
+            connection.close();
+        }
+    }
+
+    @Benchmark
+    public void legacyReadModifyWrite(HotCards cards, Session session) throws SQLException {
+        long[] pair = pick(cards);
+        Connection connection = session.connection;
+        try {
+            BigDecimal fromBalance = readBalance(connection, pair[0]);
+            BigDecimal toBalance = readBalance(connection, pair[1]);
+            if (fromBalance.compareTo(AMOUNT) >= 0) {
+                writeBalance(connection, pair[0], fromBalance.subtract(AMOUNT));
+                writeBalance(connection, pair[1], toBalance.add(AMOUNT));
+            }
+            connection.commit();
+        } catch (SQLException e) {
+            connection.rollback();
+        }
+    }
+
+    @Benchmark
+    public void orderedConditionalUpdate(HotCards cards, Session session) throws SQLException {
+        long[] pair = pick(cards);
+        Connection connection = session.connection;
+        try (PreparedStatement debit = connection.prepareStatement(
+                "update cards set balance = balance - ? where id = ? and card_status = 'ACTIVE' and balance >= ?");
+             PreparedStatement credit = connection.prepareStatement(
+                     "update cards set balance = balance + ? where id = ? and card_status = 'ACTIVE'")) {
+            boolean applied;
+            if (pair[0] < pair[1]) {
+                applied = debit(debit, pair[0]) && credit(credit, pair[1]);
+            } else {
+                applied = credit(credit, pair[1]) && debit(debit, pair[0]);
+            }
+            if (applied) {
+                connection.commit();
+            } else {
+                connection.rollback();
+            }
+        } catch (SQLException e) {
+            connection.rollback();
+        }
+    }
+
+    private static long[] pick(HotCards cards) {
+        return ThreadLocalRandom.current().nextBoolean()
+                ? new long[]{cards.firstCardId, cards.secondCardId}
+                : new long[]{cards.secondCardId, cards.firstCardId};
+    }
+
+    private static boolean debit(PreparedStatement statement, long cardId) throws SQLException {
+        statement.setBigDecimal(1, AMOUNT);
+        statement.setLong(2, cardId);
+        statement.setBigDecimal(3, AMOUNT);
+        return statement.executeUpdate() == 1;
+    }
+
+    private static boolean credit(PreparedStatement statement, long cardId) throws SQLException {
+        statement.setBigDecimal(1, AMOUNT);
+        statement.setLong(2, cardId);
+        return statement.executeUpdate() == 1;
+    }
+
+    private static BigDecimal readBalance(Connection connection, long cardId) throws SQLException {
+        try (PreparedStatement statement = connection.prepareStatement("select balance from cards where id = ?")) {
+            statement.setLong(1, cardId);
+            try (ResultSet rs = statement.executeQuery()) {
+                rs.next();
+                return rs.getBigDecimal(1);
+            }
+        }
+    }
+
+    private static void writeBalance(Connection connection, long cardId, BigDecimal balance) throws SQLException {
+        try (PreparedStatement statement = connection.prepareStatement("update cards set balance = ? where id = ?")) {
+            statement.setBigDecimal(1, balance);
+            statement.setLong(2, cardId);
+            statement.executeUpdate();
+        }
+    }
+}
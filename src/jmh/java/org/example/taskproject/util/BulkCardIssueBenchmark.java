@@ -0,0 +1,107 @@
+package org.example.taskproject.util;
+
+import org.example.taskproject.TaskProjectApplication;
+import org.example.taskproject.dto.CardIssueRequest;
+import org.example.taskproject.service.AdminCardService;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.sql.Date;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Insert throughput for bulk card issuance, reported as rows per second. {@code identity} replays
+ * what identity keys forced on Hibernate: one {@code INSERT ... RETURNING id} round trip per row.
+ * {@code batched} goes through {@link AdminCardService#createCards}, where pooled sequence ids let
+ * the flush send JDBC batches. Needs the database from {@code application.properties}. Run with
+ * {@code ./gradlew jmh -PjmhIncludes=BulkCardIssueBenchmark}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 2, time = 5)
+@Measurement(iterations = 5, time = 5)
+@Fork(1)
+public class BulkCardIssueBenchmark {
+
+    private static final int CARDS = 500;
+    private static final String USERNAME = "card-issue-bench";
+
+    @Param({"identity", "batched"})
+    private String mode;
+
+    private ConfigurableApplicationContext context;
+    private JdbcTemplate jdbcTemplate;
+    private TransactionTemplate transactionTemplate;
+    private AdminCardService adminCardService;
+    private Long userId;
+    private long next;
+
+    @Setup
+    public void setUp() {
+        context = new SpringApplicationBuilder(TaskProjectApplication.class)
+                .web(WebApplicationType.NONE)
+                .properties("spring.main.banner-mode=off", "spring.jpa.show-sql=false")
+                .run();
+        jdbcTemplate = context.getBean(JdbcTemplate.class);
+        transactionTemplate = new TransactionTemplate(context.getBean(PlatformTransactionManager.class));
+        adminCardService = context.getBean(AdminCardService.class);
+
+        deleteSeeded();
+        userId = jdbcTemplate.queryForObject("""
+                INSERT INTO users (username, password, email, user_status, token_version)
+                VALUES (?, 'unused', ?, 'ACTIVE', 0)
+                RETURNING id
+                """, Long.class, USERNAME, USERNAME + "@bench.local");
+    }
+
+    @TearDown(Level.Iteration)
+    public void deleteCards() {
+        jdbcTemplate.update("DELETE FROM cards WHERE user_id = ?", userId);
+    }
+
+    @TearDown
+    public void tearDown() {
+        deleteSeeded();
+        context.close();
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(CARDS)
+    public void issueCards() {
+        List<CardIssueRequest> cards = new ArrayList<>(CARDS);
+        for (int i = 0; i < CARDS; i++) {
+            cards.add(new CardIssueRequest(userId, String.format("8%015d", next++), BigDecimal.TEN));
+        }
+
+        if ("batched".equals(mode)) {
+            adminCardService.createCards(cards);
+            return;
+        }
+
+        Date expirationDate = Date.valueOf(LocalDate.now().plusYears(2));
+        transactionTemplate.executeWithoutResult(status -> {
+            for (CardIssueRequest card : cards) {
+                jdbcTemplate.queryForObject("""
+                        INSERT INTO cards (card_number, user_id, expiration_date, card_status, balance, version)
+                        VALUES (?, ?, ?, 'ACTIVE', ?, 0)
+                        RETURNING id
+                        """, Long.class, card.getCardNumber(), userId, expirationDate, card.getBalance());
+            }
+        });
+    }
+
+    private void deleteSeeded() {
+        jdbcTemplate.update("DELETE FROM cards WHERE user_id IN (SELECT id FROM users WHERE username = ?)", USERNAME);
+        jdbcTemplate.update("DELETE FROM users WHERE username = ?", USERNAME);
+    }
+}
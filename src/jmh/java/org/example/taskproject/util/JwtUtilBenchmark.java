@@ -0,0 +1,61 @@
+package org.example.taskproject.util;
+
+import org.example.taskproject.entity.RoleEntity;
+import org.example.taskproject.entity.UserEntity;
+import org.example.taskproject.enums.RoleName;
+import org.example.taskproject.enums.UserStatus;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+import org.springframework.security.core.userdetails.User;
+import org.springframework.security.core.userdetails.UserDetails;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares the per-request cost of the old accessor-per-claim path in JwtAuthenticationFilter,
+ * which parsed the token once per accessor, with a single {@link JwtUtil#parse(String)}.
+ * Run with {@code ./gradlew jmh -PjmhIncludes=JwtUtilBenchmark}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class JwtUtilBenchmark {
+
+    private JwtUtil jwtUtil;
+    private String token;
+    private UserDetails userDetails;
+
+    @Setup
+    public void setUp() {
+        jwtUtil = new JwtUtil();
+        RoleEntity role = new RoleEntity();
+        role.setName(RoleName.USER);
+        UserEntity user = new UserEntity();
+        user.setId(1L);
+        user.setEmail("bench@test.com");
+        user.setUserStatus(UserStatus.ACTIVE);
+        user.setRoles(List.of(role));
+        token = jwtUtil.generateToken(user);
+        userDetails = new User("bench@test.com", "", List.of());
+    }
+
+    @Benchmark
+    public void legacyAccessorPath(Blackhole blackhole) {
+        blackhole.consume(jwtUtil.getJti(token));
+        String username = jwtUtil.getUsernameFromToken(token);
+        boolean valid = jwtUtil.getUsernameFromToken(token).equals(userDetails.getUsername())
+                && jwtUtil.validateJwtToken(token);
+        blackhole.consume(valid && username != null);
+    }
+
+    @Benchmark
+    public void singleParse(Blackhole blackhole) {
+        ParsedToken parsedToken = jwtUtil.parse(token);
+        blackhole.consume(parsedToken.jti());
+        blackhole.consume(parsedToken.subject().equals(userDetails.getUsername()));
+    }
+}
@@ -0,0 +1,77 @@
+package org.example.taskproject.util;
+
+import org.example.taskproject.TaskProjectApplication;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Regression guard for OTP verification latency against long histories. Seeds {@code history}
+ * expired OTPs per email, half of them used, then measures a failed verification, which is a pure
+ * top-1 lookup. Latency should stay flat as history grows. Needs the database from
+ * {@code application.properties}. Run with {@code ./gradlew jmh -PjmhIncludes=OtpLookupBenchmark}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 2, time = 5)
+@Measurement(iterations = 5, time = 5)
+@Fork(1)
+public class OtpLookupBenchmark {
+
+    private static final int EMAILS = 20;
+    private static final String PREFIX = "otp-lookup-bench-";
+
+    @Param({"0", "10000"})
+    private int history;
+
+    private ConfigurableApplicationContext context;
+    private JdbcTemplate jdbcTemplate;
+    private OtpStore store;
+    private int next;
+
+    @Setup
+    public void setUp() {
+        context = new SpringApplicationBuilder(TaskProjectApplication.class)
+                .web(WebApplicationType.NONE)
+                .properties("otp.store.mode=jpa", "spring.main.banner-mode=off")
+                .run();
+        jdbcTemplate = context.getBean(JdbcTemplate.class);
+        store = context.getBean(OtpStore.class);
+
+        deleteSeeded();
+        for (int i = 0; i < EMAILS; i++) {
+            jdbcTemplate.update("""
+                    INSERT INTO otps (email, code, expiry_time, used)
+                    SELECT ?, '000000', now() - make_interval(mins => g), g % 2 = 0
+                    FROM generate_series(1, ?) g
+                    """, email(i), history);
+            store.put(email(i), "123456", Duration.ofMinutes(30));
+        }
+        jdbcTemplate.execute("ANALYZE otps");
+    }
+
+    @TearDown
+    public void tearDown() {
+        deleteSeeded();
+        context.close();
+    }
+
+    @Benchmark
+    public Object verifyWrongCode() {
+        return store.consume(email(next++ % EMAILS), "999999");
+    }
+
+    private void deleteSeeded() {
+        jdbcTemplate.update("DELETE FROM otps WHERE email LIKE ?", PREFIX + "%");
+    }
+
+    private static String email(int i) {
+        return PREFIX + i + "@bench.local";
+    }
+}
@@ -0,0 +1,72 @@
+package org.example.taskproject.util;
+
+import org.example.taskproject.TaskProjectApplication;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Issue-then-verify throughput of the OTP stores, one login per invocation. The {@code jpa} variant
+ * boots the application against the datasource from {@code application.properties}, so it needs
+ * the database running. Run with {@code ./gradlew jmh -PjmhIncludes=OtpStoreBenchmark}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 2, time = 5)
+@Measurement(iterations = 5, time = 5)
+@Threads(8)
+@Fork(1)
+public class OtpStoreBenchmark {
+
+    private static final Duration TTL = Duration.ofMinutes(3);
+    private static final AtomicInteger THREAD_IDS = new AtomicInteger();
+
+    @Param({"memory", "jpa"})
+    private String mode;
+
+    private ConfigurableApplicationContext context;
+    private OtpStore store;
+
+    @Setup
+    public void setUp() {
+        if ("memory".equals(mode)) {
+            store = new InMemoryOtpStore(System::currentTimeMillis, 1000, 512);
+            return;
+        }
+        context = new SpringApplicationBuilder(TaskProjectApplication.class)
+                .web(WebApplicationType.NONE)
+                .properties("otp.store.mode=jpa", "spring.main.banner-mode=off")
+                .run();
+        store = context.getBean(OtpStore.class);
+    }
+
+    @TearDown
+    public void tearDown() {
+        if (context != null) {
+            context.close();
+        }
+    }
+
+    @State(Scope.Thread)
+    public static class Login {
+        private final String prefix = "bench-" + THREAD_IDS.incrementAndGet() + "-";
+        private int counter;
+
+        String nextEmail() {
+            return prefix + (counter++ % 10_000) + "@bench.local";
+        }
+    }
+
+    @Benchmark
+    public Object issueAndVerify(Login login) {
+        String email = login.nextEmail();
+        store.put(email, "123456", TTL);
+        return store.consume(email, "123456");
+    }
+}
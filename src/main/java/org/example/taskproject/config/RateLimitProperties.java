@@ -0,0 +1,45 @@
+package org.example.taskproject.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+@Data
+@Component
+@ConfigurationProperties(prefix = "rate-limit")
+public class RateLimitProperties {
+
+    private boolean enabled = true;
+
+    /**
+     * local: per-node in-memory buckets; shared: buckets in Postgres, limits hold across nodes.
+     */
+    private String mode = "local";
+
+    private long idleEvictionMs = 600_000;
+
+    private int maxBodyBytes = 4096;
+
+    private Map<String, Policy> policies = new LinkedHashMap<>();
+
+    @Data
+    public static class Policy {
+        private String path;
+        private int ipCapacity;
+        private int ipRefillPerMinute;
+        private int emailCapacity;
+        private int emailRefillPerMinute;
+        /**
+         * Where the endpoint binds the email from; the bucket must be keyed from the same place.
+         */
+        private EmailSource emailSource = EmailSource.BODY;
+    }
+
+    public enum EmailSource {
+        BODY,
+        PARAM
+    }
+}
@@ -8,7 +8,9 @@ import io.swagger.v3.oas.annotations.Parameter;
 
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
+import org.example.taskproject.dto.BulkCardRequest;
 import org.example.taskproject.dto.CardResponse;
+import org.example.taskproject.dto.CursorPage;
 import org.example.taskproject.dto.CardRequest;
 import org.example.taskproject.service.impl.AdminCardServiceImpl;
 import org.springframework.data.domain.Page;
@@ -35,6 +37,18 @@ public class AdminCardController {
         adminService.createCard(id, cardRequest);
     }
 
+    @Operation(
+            summary = "Issue cards in bulk",
+            description = "Creates up to 1000 cards, each assigned to the user given by its user ID, in one transaction. Requires ADMIN role."
+    )
+    @ApiResponse(responseCode = "200", description = "All cards successfully created")
+    @PostMapping("/create-cards")
+    public void createCards(
+            @RequestBody(description = "Cards to issue with their owners' IDs") @Valid @org.springframework.web.bind.annotation.RequestBody BulkCardRequest bulkCardRequest
+    ) {
+        adminService.createCards(bulkCardRequest.getCards());
+    }
+
     @Operation(
             summary = "Block a card",
             description = "Blocks a card by its ID. Requires ADMIN role."
@@ -71,4 +85,17 @@ public class AdminCardController {
     ) {
         return adminService.getAllCards(page, size);
     }
+
+    @Operation(
+            summary = "Scroll all cards",
+            description = "Returns cards newest first using keyset pagination. Pass `nextCursor` from the previous response as `after`; no total count is computed."
+    )
+    @ApiResponse(responseCode = "200", description = "Page of cards returned")
+    @GetMapping("/cards/scroll")
+    public CursorPage<CardResponse> scrollCards(
+            @Parameter(description = "Cursor from the previous page, omit for the first page") @RequestParam(required = false) String after,
+            @Parameter(description = "Number of cards per page") @RequestParam(defaultValue = "10") int size
+    ) {
+        return adminService.scrollCards(after, size);
+    }
 }
@@ -6,21 +6,38 @@ import io.swagger.v3.oas.annotations.tags.Tag;
 import io.swagger.v3.oas.annotations.parameters.RequestBody;
 import io.swagger.v3.oas.annotations.Parameter;
 
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
 import org.example.taskproject.dto.UserDtoRequest;
+import org.example.taskproject.dto.CursorPage;
 import org.example.taskproject.dto.UserDtoResponse;
+import org.example.taskproject.enums.UserImportFormat;
 import org.example.taskproject.service.impl.AdminUserServiceImpl;
+import org.example.taskproject.service.impl.UserImportServiceImpl;
 import org.springframework.data.domain.Page;
+import org.springframework.http.MediaType;
 import org.springframework.web.bind.annotation.*;
 
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.PrintWriter;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+
 @Tag(name = "Admin Users", description = "Endpoints for managing users by admins")
 @RestController
 @RequestMapping("/api/admin/users")
 @RequiredArgsConstructor
 public class AdminUserController {
 
+    private static final String TEXT_CSV = "text/csv";
+
     private final AdminUserServiceImpl adminUserService;
+    private final UserImportServiceImpl userImportService;
+    private final ObjectMapper objectMapper;
 
     @Operation(
             summary = "Create a new admin user",
@@ -34,6 +51,36 @@ public class AdminUserController {
         adminUserService.createAdmin(dto);
     }
 
+    @Operation(
+            summary = "Import users",
+            description = "Streams a CSV file (header: username,email,password) or NDJSON objects and creates USER accounts. "
+                    + "Responds with NDJSON: one progress line per chunk with that chunk's row errors, then a final line with done=true. "
+                    + "Requires ADMIN role."
+    )
+    @ApiResponse(responseCode = "200", description = "Import processed, see the streamed progress lines")
+    @PostMapping(value = "/import", consumes = {TEXT_CSV, MediaType.APPLICATION_NDJSON_VALUE},
+            produces = MediaType.APPLICATION_NDJSON_VALUE)
+    public void importUsers(HttpServletRequest request, HttpServletResponse response) throws IOException {
+        UserImportFormat format = MediaType.parseMediaType(request.getContentType()).isCompatibleWith(MediaType.parseMediaType(TEXT_CSV))
+                ? UserImportFormat.CSV
+                : UserImportFormat.NDJSON;
+
+        // The body is read and the progress written as the import runs; neither is buffered whole.
+        InputStreamReader input = new InputStreamReader(request.getInputStream(), StandardCharsets.UTF_8);
+        response.setContentType(MediaType.APPLICATION_NDJSON_VALUE);
+        response.setCharacterEncoding(StandardCharsets.UTF_8.name());
+        userImportService.importUsers(input, format, progress -> {
+            try {
+                PrintWriter writer = response.getWriter();
+                writer.write(objectMapper.writeValueAsString(progress));
+                writer.write('\n');
+                writer.flush();
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        });
+    }
+
     @Operation(
             summary = "Block a user",
             description = "Blocks a user account by user ID. Requires ADMIN role."
@@ -82,4 +129,17 @@ public class AdminUserController {
     ) {
         return adminUserService.getAllUsers(page, size);
     }
+
+    @Operation(
+            summary = "Scroll all users",
+            description = "Returns users newest first using keyset pagination. Pass `nextCursor` from the previous response as `after`; no total count is computed."
+    )
+    @ApiResponse(responseCode = "200", description = "Page of users returned")
+    @GetMapping("/scroll")
+    public CursorPage<UserDtoResponse> scrollUsers(
+            @Parameter(description = "Cursor from the previous page, omit for the first page") @RequestParam(required = false) String after,
+            @Parameter(description = "Number of users per page") @RequestParam(defaultValue = "10") int size
+    ) {
+        return adminUserService.scrollUsers(after, size);
+    }
 }
@@ -4,6 +4,8 @@ import jakarta.validation.ConstraintViolationException;
 import lombok.extern.slf4j.Slf4j;
 import org.example.taskproject.dto.ExceptionDto;
 import org.example.taskproject.exception.*;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.dao.PessimisticLockingFailureException;
 import org.springframework.http.HttpStatus;
 import org.springframework.security.authentication.BadCredentialsException;
 import org.springframework.web.bind.MethodArgumentNotValidException;
@@ -41,7 +43,8 @@ public class ErrorHandler {
             CardInactiveException.class,
             BadCredentialsException.class,
             PasswordMismatchException.class,
-            UnsufficientBalanceException.class
+            UnsufficientBalanceException.class,
+            InvalidRequestException.class
     })
     @ResponseStatus(HttpStatus.BAD_REQUEST)
     public ExceptionDto handleBadRequest(RuntimeException ex) {
@@ -50,6 +53,25 @@ public class ErrorHandler {
     }
 
 
+    @ExceptionHandler({
+            OptimisticLockingFailureException.class,
+            PessimisticLockingFailureException.class
+    })
+    @ResponseStatus(HttpStatus.CONFLICT)
+    public ExceptionDto handleConcurrentModification(RuntimeException ex) {
+        log.warn("Concurrent modification: {}: {}", ex.getClass().getSimpleName(), ex.getMessage());
+        return new ExceptionDto("CONCURRENT_MODIFICATION");
+    }
+
+
+    @ExceptionHandler(ServiceBusyException.class)
+    @ResponseStatus(HttpStatus.SERVICE_UNAVAILABLE)
+    public ExceptionDto handleServiceBusy(ServiceBusyException ex) {
+        log.warn("Service busy: {}", ex.getMessage());
+        return new ExceptionDto(ex.getMessage());
+    }
+
+
     @ExceptionHandler(MethodArgumentNotValidException.class)
     @ResponseStatus(HttpStatus.BAD_REQUEST)
     public List<ExceptionDto> handleValidationErrors(MethodArgumentNotValidException ex) {
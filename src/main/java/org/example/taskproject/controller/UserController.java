@@ -4,15 +4,22 @@ import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.responses.ApiResponse;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import io.swagger.v3.oas.annotations.Parameter;
+import io.swagger.v3.oas.annotations.parameters.RequestBody;
 
+import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
+import org.example.taskproject.dto.BatchTransferRequest;
 import org.example.taskproject.dto.CardResponse;
+import org.example.taskproject.dto.CardTransactionResponse;
+import org.example.taskproject.dto.CursorPage;
+import org.example.taskproject.dto.TransferResponse;
 import org.example.taskproject.service.impl.UserServiceImpl;
 import org.springframework.data.domain.Page;
 import org.springframework.security.core.Authentication;
 import org.springframework.web.bind.annotation.*;
 
 import java.math.BigDecimal;
+import java.util.List;
 
 @Tag(name = "User", description = "Endpoints for user card operations and transactions")
 @RestController
@@ -35,6 +42,20 @@ public class UserController {
         return userService.getCards(authentication, page, size);
     }
 
+    @Operation(
+            summary = "Scroll user cards",
+            description = "Returns the authenticated user's cards ordered by expiration date using keyset pagination. Pass `nextCursor` from the previous response as `after`."
+    )
+    @ApiResponse(responseCode = "200", description = "Page of user's cards retrieved successfully")
+    @GetMapping("/scroll")
+    public CursorPage<CardResponse> scrollCards(
+            @Parameter(description = "Authentication object automatically provided by Spring Security") Authentication authentication,
+            @Parameter(description = "Cursor from the previous page, omit for the first page") @RequestParam(required = false) String after,
+            @Parameter(description = "Page size, default is 10") @RequestParam(defaultValue = "10") int size
+    ) {
+        return userService.scrollCards(authentication, after, size);
+    }
+
     @Operation(
             summary = "Get card balance",
             description = "Returns the balance of a specific card for the authenticated user"
@@ -48,6 +69,21 @@ public class UserController {
         return userService.getBalance(authentication, cardNumber);
     }
 
+    @Operation(
+            summary = "Get card transactions",
+            description = "Returns ledger entries of a card, newest first, using keyset pagination"
+    )
+    @ApiResponse(responseCode = "200", description = "Transactions retrieved successfully")
+    @GetMapping("/{cardNumber}/transactions")
+    public CursorPage<CardTransactionResponse> getTransactions(
+            @Parameter(description = "Authentication object automatically provided by Spring Security") Authentication authentication,
+            @Parameter(description = "Card number to list transactions for") @PathVariable String cardNumber,
+            @Parameter(description = "Cursor from the previous page, omit for the first page") @RequestParam(required = false) String cursor,
+            @Parameter(description = "Page size, default is 20") @RequestParam(defaultValue = "20") int size
+    ) {
+        return userService.getTransactions(authentication, cardNumber, cursor, size);
+    }
+
     @Operation(
             summary = "Transfer money between cards",
             description = "Transfers a specified amount from one card to another for the authenticated user"
@@ -63,6 +99,19 @@ public class UserController {
         userService.transaction(authentication, cardNumberFrom, cardNumberTo, amount);
     }
 
+    @Operation(
+            summary = "Transfer money in a batch",
+            description = "Applies a list of transfers between the authenticated user's cards in one transaction and returns a result per item"
+    )
+    @ApiResponse(responseCode = "200", description = "Batch processed; see per-item status")
+    @PostMapping("/transfer/batch")
+    public List<TransferResponse> batchTransfer(
+            @Parameter(description = "Authentication object automatically provided by Spring Security") Authentication authentication,
+            @RequestBody(description = "Transfers to apply, in order") @Valid @org.springframework.web.bind.annotation.RequestBody BatchTransferRequest batchTransferRequest
+    ) {
+        return userService.batchTransaction(authentication, batchTransferRequest.getTransfers());
+    }
+
     @Operation(
             summary = "Request block for a card",
             description = "Blocks a card for the authenticated user"
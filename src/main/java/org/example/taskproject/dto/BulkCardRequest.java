@@ -0,0 +1,19 @@
+package org.example.taskproject.dto;
+
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.Size;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class BulkCardRequest {
+    @NotEmpty(message = "At least one card is required")
+    @Size(max = 1000, message = "At most 1000 cards per request")
+    private List<@Valid CardIssueRequest> cards;
+}
@@ -0,0 +1,22 @@
+package org.example.taskproject.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.example.taskproject.enums.CardStatus;
+
+import java.math.BigDecimal;
+
+/**
+ * The columns needed to authorize a card operation, read with the owner's email in one join.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class CardAccessView {
+    private Long id;
+    private String cardNumber;
+    private CardStatus cardStatus;
+    private BigDecimal balance;
+    private String ownerEmail;
+}
@@ -0,0 +1,25 @@
+package org.example.taskproject.dto;
+
+import jakarta.validation.constraints.DecimalMin;
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Pattern;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class CardIssueRequest {
+    @NotNull(message = "User id is required")
+    private Long userId;
+    @NotBlank(message = "Card number is required")
+    @Pattern(regexp = "\\d{16}", message = "Card number must be 16 digits")
+    private String cardNumber;
+    @NotNull
+    @DecimalMin(value = "0.0", inclusive = true, message = "Balance cannot be negative")
+    private BigDecimal balance;
+}
@@ -0,0 +1,22 @@
+package org.example.taskproject.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.example.taskproject.enums.LedgerEntryType;
+
+import java.math.BigDecimal;
+import java.time.Instant;
+import java.util.UUID;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class CardTransactionResponse {
+    private Long id;
+    private UUID transferId;
+    private Long counterpartyCardId;
+    private LedgerEntryType entryType;
+    private BigDecimal amount;
+    private Instant createdAt;
+}
@@ -0,0 +1,28 @@
+package org.example.taskproject.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.example.taskproject.enums.CardStatus;
+import org.example.taskproject.enums.UserStatus;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+
+/**
+ * Flat row for card listings, selected with a JPQL constructor expression so that a page of
+ * cards is a single join instead of card, user and role entity loads.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class CardView {
+    private Long id;
+    private String cardNumber;
+    private LocalDate expirationDate;
+    private CardStatus cardStatus;
+    private BigDecimal balance;
+    private String username;
+    private String email;
+    private UserStatus userStatus;
+}
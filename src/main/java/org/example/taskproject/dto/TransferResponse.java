@@ -0,0 +1,15 @@
+package org.example.taskproject.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.example.taskproject.enums.TransferStatus;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class TransferResponse {
+    private int index;
+    private TransferStatus status;
+    private String message;
+}
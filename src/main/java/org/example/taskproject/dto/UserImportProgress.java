@@ -0,0 +1,18 @@
+package org.example.taskproject.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class UserImportProgress {
+    private int processed;
+    private int imported;
+    private int failed;
+    private boolean done;
+    private List<UserImportError> errors;
+}
@@ -13,8 +13,11 @@ import java.time.Instant;
 @Data
 @NoArgsConstructor
 public class BlacklistedToken {
+    // Not pooled: ids from a cached block can trail the sync mark by far more than the overlap the
+    // cache sync re-reads, while single ids only trail it by the logouts still in flight.
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "blacklisted_tokens_seq")
+    @SequenceGenerator(name = "blacklisted_tokens_seq", sequenceName = "blacklisted_tokens_seq", allocationSize = 1)
     private Long id;
 
     @Column(unique = true,nullable = false)
@@ -14,7 +14,8 @@ import java.time.LocalDateTime;
 @NoArgsConstructor
 public class Otp {
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "otps_seq")
+    @SequenceGenerator(name = "otps_seq", sequenceName = "otps_seq", allocationSize = 50)
     private Long id;
     private String email;
     private String code;
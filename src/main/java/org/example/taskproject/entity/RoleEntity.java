@@ -4,7 +4,9 @@ package org.example.taskproject.entity;
 import jakarta.persistence.*;
 import lombok.AllArgsConstructor;
 import lombok.Data;
+import lombok.EqualsAndHashCode;
 import lombok.NoArgsConstructor;
+import lombok.ToString;
 import org.example.taskproject.enums.RoleName;
 
 import java.util.List;
@@ -22,6 +24,8 @@ public class RoleEntity {
     private RoleName name;
 
     @ManyToMany(mappedBy = "roles")
+    @ToString.Exclude
+    @EqualsAndHashCode.Exclude
     private List<UserEntity> users;
 
 
@@ -4,7 +4,9 @@ package org.example.taskproject.entity;
 import jakarta.persistence.*;
 import lombok.AllArgsConstructor;
 import lombok.Data;
+import lombok.EqualsAndHashCode;
 import lombok.NoArgsConstructor;
+import lombok.ToString;
 import org.example.taskproject.enums.UserStatus;
 import org.hibernate.annotations.CreationTimestamp;
 
@@ -13,12 +15,16 @@ import java.util.List;
 
 @Entity
 @Table(name = "users")
+@NamedEntityGraph(name = UserEntity.WITH_ROLES, attributeNodes = @NamedAttributeNode("roles"))
 @NoArgsConstructor
 @AllArgsConstructor
 @Data
 public class UserEntity {
+    public static final String WITH_ROLES = "User.roles";
+
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "users_seq")
+    @SequenceGenerator(name = "users_seq", sequenceName = "users_seq", allocationSize = 50)
     private Long id;
     private String username;
     private String password;
@@ -26,8 +32,11 @@ public class UserEntity {
     private String email;
     @Enumerated(EnumType.STRING)
     private UserStatus userStatus;
+    private int tokenVersion;
 
-    @ManyToMany(fetch = FetchType.EAGER)
+    @ManyToMany(fetch = FetchType.LAZY)
+    @ToString.Exclude
+    @EqualsAndHashCode.Exclude
     @JoinTable(
             name = "user_role",
             joinColumns = @JoinColumn(name = "user_id"),
@@ -38,9 +47,8 @@ public class UserEntity {
     @CreationTimestamp
     private LocalDateTime createdAt;
 
-    @OneToOne(mappedBy = "user")
-    private PasswordResetToken passwordResetToken;
-
     @OneToMany(mappedBy = "user")
+    @ToString.Exclude
+    @EqualsAndHashCode.Exclude
     private List<CardEntity> cards;
 }
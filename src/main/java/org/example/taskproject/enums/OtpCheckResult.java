@@ -0,0 +1,7 @@
+package org.example.taskproject.enums;
+
+public enum OtpCheckResult {
+    VERIFIED,
+    REJECTED,
+    NOT_FOUND
+}
@@ -0,0 +1,8 @@
+package org.example.taskproject.enums;
+
+public enum OutboxStatus {
+    PENDING,
+    SENT,
+    FAILED,
+    EXPIRED
+}
@@ -0,0 +1,6 @@
+package org.example.taskproject.enums;
+
+public enum TransferStatus {
+    SUCCESS,
+    FAILED
+}
@@ -0,0 +1,7 @@
+package org.example.taskproject.exception;
+
+public class InvalidRequestException extends RuntimeException{
+    public InvalidRequestException(String message){
+        super(message);
+    }
+}
@@ -0,0 +1,7 @@
+package org.example.taskproject.exception;
+
+public class ServiceBusyException extends RuntimeException {
+    public ServiceBusyException(String message) {
+        super(message);
+    }
+}
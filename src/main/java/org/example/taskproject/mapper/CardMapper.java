@@ -3,8 +3,12 @@ package org.example.taskproject.mapper;
 
 
 import org.example.taskproject.dto.CardResponse;
+import org.example.taskproject.dto.CardIssueRequest;
 import org.example.taskproject.dto.CardRequest;
+import org.example.taskproject.dto.CardTransactionResponse;
+import org.example.taskproject.dto.CardView;
 import org.example.taskproject.entity.CardEntity;
+import org.example.taskproject.entity.CardTransaction;
 import org.mapstruct.Mapper;
 import org.mapstruct.Mapping;
 import org.mapstruct.Named;
@@ -14,9 +18,19 @@ import org.mapstruct.ReportingPolicy;
 public abstract class CardMapper {
     public abstract CardEntity toCardEntity(CardRequest cardRequest);
 
+    public abstract CardEntity toCardEntity(CardIssueRequest cardIssueRequest);
+
     @Mapping(source = "cardNumber",target = "cardNumber" ,qualifiedByName = "CardNumberMasking")
     public abstract CardResponse toCardDtoResponse(CardEntity cardEntity);
 
+    @Mapping(source = "cardNumber", target = "cardNumber", qualifiedByName = "CardNumberMasking")
+    @Mapping(source = "username", target = "user.username")
+    @Mapping(source = "email", target = "user.email")
+    @Mapping(source = "userStatus", target = "user.userStatus")
+    public abstract CardResponse fromView(CardView cardView);
+
+    public abstract CardTransactionResponse toTransactionResponse(CardTransaction cardTransaction);
+
 
     @Named("CardNumberMasking")
     public String cardNumberMasking(String cardNumber){
@@ -5,10 +5,13 @@ import org.example.taskproject.entity.BlacklistedToken;
 import org.springframework.data.repository.CrudRepository;
 
 import java.time.Instant;
+import java.util.List;
 import java.util.Optional;
 
 public interface BlacklistedTokenRepository extends CrudRepository<BlacklistedToken,Long> {
     Optional<BlacklistedToken> findByJti(String jti);
 
-    void deleteByExpiryDateBefore(Instant now);
+    List<BlacklistedToken> findByExpiryDateAfter(Instant now);
+
+    List<BlacklistedToken> findByIdGreaterThan(Long id);
 }
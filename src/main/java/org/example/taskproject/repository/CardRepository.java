@@ -1,16 +1,92 @@
 package org.example.taskproject.repository;
 
 
+import jakarta.persistence.LockModeType;
+import org.example.taskproject.dto.CardAccessView;
+import org.example.taskproject.dto.CardView;
 import org.example.taskproject.entity.CardEntity;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
 
 
 public interface CardRepository extends JpaRepository<CardEntity,Long> {
-    Page<CardEntity> findByUserId(Long userId, Pageable pageable);
+    String CARD_VIEW = "select new org.example.taskproject.dto.CardView(" +
+            "c.id, c.cardNumber, c.expirationDate, c.cardStatus, c.balance, u.username, u.email, u.userStatus) " +
+            "from CardEntity c join c.user u ";
+    String CARD_ACCESS = "select new org.example.taskproject.dto.CardAccessView(" +
+            "c.id, c.cardNumber, c.cardStatus, c.balance, u.email) " +
+            "from CardEntity c join c.user u ";
 
     Optional<CardEntity> findByCardNumber(String cardNumber);
+
+    @Query(CARD_ACCESS + "where c.cardNumber = :cardNumber")
+    Optional<CardAccessView> findAccessByCardNumber(@Param("cardNumber") String cardNumber);
+
+    @Query(CARD_ACCESS + "where c.cardNumber in :cardNumbers")
+    List<CardAccessView> findAccessByCardNumberIn(@Param("cardNumbers") Collection<String> cardNumbers);
+
+    @Query(value = CARD_VIEW + "where u.id = :userId",
+            countQuery = "select count(c) from CardEntity c where c.user.id = :userId")
+    Page<CardView> findViewsByUserId(@Param("userId") Long userId, Pageable pageable);
+
+    @Query(value = CARD_VIEW, countQuery = "select count(c) from CardEntity c")
+    Page<CardView> findAllViews(Pageable pageable);
+
+    @Query(CARD_VIEW + "where u.id = :userId order by c.expirationDate desc, c.id desc")
+    List<CardView> findUserCards(@Param("userId") Long userId, Pageable pageable);
+
+    @Query(CARD_VIEW + "where u.id = :userId " +
+            "and (c.expirationDate < :expirationDate or (c.expirationDate = :expirationDate and c.id < :id)) " +
+            "order by c.expirationDate desc, c.id desc")
+    List<CardView> findUserCardsAfter(@Param("userId") Long userId,
+                                      @Param("expirationDate") LocalDate expirationDate,
+                                      @Param("id") Long id,
+                                      Pageable pageable);
+
+    @Query(CARD_VIEW + "order by c.id desc")
+    List<CardView> findLatestViews(Pageable pageable);
+
+    @Query(CARD_VIEW + "where c.id < :id order by c.id desc")
+    List<CardView> findViewsBefore(@Param("id") Long id, Pageable pageable);
+
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    // No owner join: Postgres would lock the users rows too, or refuse on an outer join.
+    @Query("select c from CardEntity c where c.cardNumber in :cardNumbers order by c.id")
+    List<CardEntity> findByCardNumberIn(@Param("cardNumbers") Collection<String> cardNumbers);
+
+    @Modifying
+    @Query("""
+            update CardEntity c set c.balance = c.balance - :amount, c.version = c.version + 1
+            where c.id = :id
+              and c.cardStatus = org.example.taskproject.enums.CardStatus.ACTIVE
+              and c.balance >= :amount
+            """)
+    int debit(@Param("id") Long id, @Param("amount") BigDecimal amount);
+
+    @Modifying
+    @Query("""
+            update CardEntity c set c.balance = c.balance + :amount, c.version = c.version + 1
+            where c.id = :id
+              and c.cardStatus = org.example.taskproject.enums.CardStatus.ACTIVE
+            """)
+    int credit(@Param("id") Long id, @Param("amount") BigDecimal amount);
+
+    @Modifying
+    @Query("""
+            update CardEntity c set c.cardStatus = org.example.taskproject.enums.CardStatus.BLOCKED, c.version = c.version + 1
+            where c.id = :id
+              and c.cardStatus = org.example.taskproject.enums.CardStatus.ACTIVE
+            """)
+    int block(@Param("id") Long id);
 }
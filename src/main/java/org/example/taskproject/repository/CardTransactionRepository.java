@@ -0,0 +1,24 @@
+package org.example.taskproject.repository;
+
+import org.example.taskproject.entity.CardTransaction;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.time.Instant;
+import java.util.List;
+
+public interface CardTransactionRepository extends JpaRepository<CardTransaction, Long> {
+
+    @Query("select t from CardTransaction t where t.cardId = :cardId order by t.createdAt desc, t.id desc")
+    List<CardTransaction> findLatest(@Param("cardId") Long cardId, Pageable pageable);
+
+    @Query("select t from CardTransaction t where t.cardId = :cardId " +
+            "and (t.createdAt < :createdAt or (t.createdAt = :createdAt and t.id < :id)) " +
+            "order by t.createdAt desc, t.id desc")
+    List<CardTransaction> findBefore(@Param("cardId") Long cardId,
+                                     @Param("createdAt") Instant createdAt,
+                                     @Param("id") Long id,
+                                     Pageable pageable);
+}
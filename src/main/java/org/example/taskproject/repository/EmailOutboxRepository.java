@@ -0,0 +1,63 @@
+package org.example.taskproject.repository;
+
+import jakarta.transaction.Transactional;
+import org.example.taskproject.entity.EmailOutbox;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.time.Instant;
+import java.util.Collection;
+import java.util.List;
+
+public interface EmailOutboxRepository extends JpaRepository<EmailOutbox, Long> {
+
+    @Query(value = """
+            select * from email_outbox
+            where status = 'PENDING' and next_attempt_at <= :now
+            order by next_attempt_at
+            limit :limit
+            for update skip locked
+            """, nativeQuery = true)
+    List<EmailOutbox> claimDue(@Param("now") Instant now, @Param("limit") int limit);
+
+    @Transactional
+    @Modifying
+    @Query("""
+            update EmailOutbox e set e.status = org.example.taskproject.enums.OutboxStatus.SENT,
+                e.sentAt = :sentAt, e.attempts = e.attempts + 1, e.lastError = null, e.body = ''
+            where e.id in :ids
+            """)
+    int markSent(@Param("ids") Collection<Long> ids, @Param("sentAt") Instant sentAt);
+
+    @Transactional
+    @Modifying
+    @Query("""
+            update EmailOutbox e set e.attempts = e.attempts + 1, e.nextAttemptAt = :nextAttemptAt, e.lastError = :error
+            where e.id = :id
+            """)
+    int markRetry(@Param("id") Long id, @Param("nextAttemptAt") Instant nextAttemptAt, @Param("error") String error);
+
+    @Transactional
+    @Modifying
+    @Query("""
+            update EmailOutbox e set e.status = org.example.taskproject.enums.OutboxStatus.FAILED,
+                e.attempts = e.attempts + 1, e.lastError = :error, e.body = ''
+            where e.id = :id
+            """)
+    int markFailed(@Param("id") Long id, @Param("error") String error);
+
+    @Transactional
+    @Modifying
+    @Query("""
+            update EmailOutbox e set e.status = org.example.taskproject.enums.OutboxStatus.EXPIRED, e.body = ''
+            where e.id in :ids
+            """)
+    int markExpired(@Param("ids") Collection<Long> ids);
+
+    @Transactional
+    @Modifying
+    @Query("delete from EmailOutbox e where e.status <> org.example.taskproject.enums.OutboxStatus.PENDING and e.createdAt < :before")
+    int deleteFinishedBefore(@Param("before") Instant before);
+}
@@ -1,15 +1,24 @@
 package org.example.taskproject.repository;
 
 
-import jakarta.transaction.Transactional;
 import org.example.taskproject.entity.Otp;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 
-import java.util.List;
+import java.time.LocalDateTime;
+import java.util.Optional;
 
 public interface OtpRepository extends JpaRepository<Otp,Long> {
-    List<Otp> findByEmailOrderByExpiryTimeDesc(String email);
+    Optional<Otp> findFirstByEmailOrderByExpiryTimeDesc(String email);
 
-    @Transactional
-    void deleteByUsed(boolean used);
+    @Modifying
+    @Query("update Otp o set o.used = true where o.email = :email and o.used = false")
+    int markUnusedAsUsed(@Param("email") String email);
+
+    // expiryTime is the partition key; matching on it keeps the update to a single partition.
+    @Modifying
+    @Query("update Otp o set o.used = true where o.id = :id and o.expiryTime = :expiryTime and o.used = false")
+    int markUsed(@Param("id") Long id, @Param("expiryTime") LocalDateTime expiryTime);
 }
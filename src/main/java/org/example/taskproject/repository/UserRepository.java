@@ -2,8 +2,16 @@ package org.example.taskproject.repository;
 
 
 import org.example.taskproject.entity.UserEntity;
+import org.springframework.data.domain.Pageable;
+import jakarta.transaction.Transactional;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 
+import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
 
 public interface UserRepository extends JpaRepository<UserEntity,Long> {
@@ -11,7 +19,31 @@ public interface UserRepository extends JpaRepository<UserEntity,Long> {
 
     Optional<UserEntity> findByEmail(String email);
 
+    @EntityGraph(UserEntity.WITH_ROLES)
+    Optional<UserEntity> findWithRolesByEmail(String email);
+
     boolean existsByUsername(String username);
 
     boolean existsByEmail(String email);
+
+    @Query("select u.email from UserEntity u where u.email in :emails")
+    List<String> findExistingEmails(@Param("emails") Collection<String> emails);
+
+    @Query("select u.username from UserEntity u where u.username in :usernames")
+    List<String> findExistingUsernames(@Param("usernames") Collection<String> usernames);
+
+    List<UserEntity> findAllByOrderByIdDesc(Pageable pageable);
+
+    List<UserEntity> findByIdLessThanOrderByIdDesc(Long id, Pageable pageable);
+
+    @Transactional
+    @Modifying
+    @Query("update UserEntity u set u.password = :password where u.id = :id")
+    int updatePassword(@Param("id") Long id, @Param("password") String password);
+
+    @Query("select u.password from UserEntity u where u.id = :id")
+    Optional<String> findPasswordById(@Param("id") Long id);
+
+    @Query("select u.tokenVersion from UserEntity u where u.id = :id")
+    Optional<Integer> findTokenVersionById(@Param("id") Long id);
 }
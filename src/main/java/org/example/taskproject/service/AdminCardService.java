@@ -1,16 +1,24 @@
 package org.example.taskproject.service;
 
+import org.example.taskproject.dto.CardIssueRequest;
 import org.example.taskproject.dto.CardResponse;
 import org.example.taskproject.dto.CardRequest;
+import org.example.taskproject.dto.CursorPage;
 import org.springframework.data.domain.Page;
 
+import java.util.List;
+
 public interface AdminCardService {
 
     void createCard(Long userId, CardRequest cardRequest);
 
+    void createCards(List<CardIssueRequest> requests);
+
     void blockCard(Long cardId);
 
     void deleteCard(Long cardId);
 
     Page<CardResponse> getAllCards(int page, int size);
+
+    CursorPage<CardResponse> scrollCards(String after, int size);
 }
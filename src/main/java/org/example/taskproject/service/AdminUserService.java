@@ -1,5 +1,6 @@
 package org.example.taskproject.service;
 
+import org.example.taskproject.dto.CursorPage;
 import org.example.taskproject.dto.UserDtoRequest;
 import org.example.taskproject.dto.UserDtoResponse;
 import org.springframework.data.domain.Page;
@@ -15,4 +16,6 @@ public interface AdminUserService {
     void activateUser(Long id);
 
     Page<UserDtoResponse> getAllUsers(int page, int size);
+
+    CursorPage<UserDtoResponse> scrollUsers(String after, int size);
 }
@@ -9,5 +9,7 @@ public interface BlacklistedTokenService {
 
     boolean isBlacklisted(String jti);
 
+    void sync();
+
     void cleanup();
 }
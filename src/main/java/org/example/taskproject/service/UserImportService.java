@@ -0,0 +1,14 @@
+package org.example.taskproject.service;
+
+import org.example.taskproject.dto.UserImportProgress;
+import org.example.taskproject.enums.UserImportFormat;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.util.function.Consumer;
+
+public interface UserImportService {
+
+    UserImportProgress importUsers(Reader input, UserImportFormat format, Consumer<UserImportProgress> progressListener)
+            throws IOException;
+}
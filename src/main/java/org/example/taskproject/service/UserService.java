@@ -1,15 +1,22 @@
 package org.example.taskproject.service;
 
 import org.example.taskproject.dto.CardResponse;
+import org.example.taskproject.dto.CardTransactionResponse;
+import org.example.taskproject.dto.CursorPage;
+import org.example.taskproject.dto.TransferRequest;
+import org.example.taskproject.dto.TransferResponse;
 import org.springframework.data.domain.Page;
 import org.springframework.security.core.Authentication;
 
 import java.math.BigDecimal;
+import java.util.List;
 
 public interface UserService {
 
     Page<CardResponse> getCards(Authentication authentication, int page, int size);
 
+    CursorPage<CardResponse> scrollCards(Authentication authentication, String after, int size);
+
     BigDecimal getBalance(Authentication authentication, String cardNumber);
 
     void transaction(Authentication authentication,
@@ -17,5 +24,12 @@ public interface UserService {
                      String cardNumberTo,
                      BigDecimal amount);
 
+    List<TransferResponse> batchTransaction(Authentication authentication, List<TransferRequest> transfers);
+
+    CursorPage<CardTransactionResponse> getTransactions(Authentication authentication,
+                                                        String cardNumber,
+                                                        String cursor,
+                                                        int size);
+
     void requestBlockCard(Authentication authentication, String cardNumber);
 }
@@ -2,8 +2,11 @@ package org.example.taskproject.service.impl;
 
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.example.taskproject.dto.CardIssueRequest;
 import org.example.taskproject.dto.CardResponse;
 import org.example.taskproject.dto.CardRequest;
+import org.example.taskproject.dto.CardView;
+import org.example.taskproject.dto.CursorPage;
 import org.example.taskproject.entity.CardEntity;
 import org.example.taskproject.entity.UserEntity;
 import org.example.taskproject.enums.CardStatus;
@@ -14,13 +17,23 @@ import org.example.taskproject.mapper.CardMapper;
 import org.example.taskproject.repository.CardRepository;
 import org.example.taskproject.repository.UserRepository;
 import org.example.taskproject.service.AdminCardService;
+import org.example.taskproject.util.CursorCodec;
+import org.example.taskproject.util.KeysetPages;
+import org.example.taskproject.util.OptimisticRetryExecutor;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.domain.Sort;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.time.LocalDate;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Function;
+import java.util.stream.Collectors;
 
 @Slf4j
 @Service
@@ -31,6 +44,7 @@ public class AdminCardServiceImpl implements AdminCardService {
     private final CardRepository cardRepository;
     private final CardMapper cardMapper;
     private final UserRepository userRepository;
+    private final OptimisticRetryExecutor retryExecutor;
 
     @Override
     public void createCard(Long userId, CardRequest cardRequest) {
@@ -52,7 +66,45 @@ public class AdminCardServiceImpl implements AdminCardService {
     }
 
     @Override
+    public void createCards(List<CardIssueRequest> requests) {
+        log.info("Issuing cards in bulk: count={}", requests.size());
+
+        Set<Long> userIds = requests.stream()
+                .map(CardIssueRequest::getUserId)
+                .collect(Collectors.toSet());
+
+        Map<Long, UserEntity> users = userRepository.findAllById(userIds)
+                .stream()
+                .collect(Collectors.toMap(UserEntity::getId, Function.identity()));
+
+        if (users.size() != userIds.size()) {
+            log.warn("Bulk issuance references unknown users: requested={}, found={}", userIds.size(), users.size());
+            throw new NotFoundException("USER_NOT_FOUND");
+        }
+
+        // Ids come from the pooled cards sequence, so the flush sends these as batched inserts.
+        LocalDate expirationDate = LocalDate.now().plusYears(2);
+        List<CardEntity> cards = requests.stream()
+                .map(request -> {
+                    CardEntity card = cardMapper.toCardEntity(request);
+                    card.setExpirationDate(expirationDate);
+                    card.setCardStatus(CardStatus.ACTIVE);
+                    card.setUser(users.get(request.getUserId()));
+                    return card;
+                })
+                .toList();
+
+        cardRepository.saveAll(cards);
+        log.info("Cards issued successfully: count={}", cards.size());
+    }
+
+    @Override
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
     public void blockCard(Long cardId) {
+        retryExecutor.run("blockCard", () -> applyBlock(cardId));
+    }
+
+    private void applyBlock(Long cardId) {
         log.info("Blocking card: cardId={}", cardId);
 
         CardEntity card = cardRepository.findById(cardId)
@@ -76,7 +128,12 @@ public class AdminCardServiceImpl implements AdminCardService {
     }
 
     @Override
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
     public void deleteCard(Long cardId) {
+        retryExecutor.run("deleteCard", () -> applyDelete(cardId));
+    }
+
+    private void applyDelete(Long cardId) {
         log.info("Deleting card: cardId={}", cardId);
 
         CardEntity card = cardRepository.findById(cardId)
@@ -99,11 +156,26 @@ public class AdminCardServiceImpl implements AdminCardService {
     public Page<CardResponse> getAllCards(int page, int size) {
         log.info("Fetching all cards: page={}, size={}", page, size);
 
-        Page<CardResponse> result = cardRepository.findAll(
+        Page<CardResponse> result = cardRepository.findAllViews(
                 PageRequest.of(page, size, Sort.by("id").descending())
-        ).map(cardMapper::toCardDtoResponse);
+        ).map(cardMapper::fromView);
 
         log.info("Fetched {} cards", result.getTotalElements());
         return result;
     }
+
+    @Override
+    @Transactional(readOnly = true)
+    public CursorPage<CardResponse> scrollCards(String after, int size) {
+        log.info("Scrolling all cards: after={}, size={}", after, size);
+
+        Pageable pageable = KeysetPages.probe(size);
+        List<CardView> rows = after == null || after.isBlank()
+                ? cardRepository.findLatestViews(pageable)
+                : cardRepository.findViewsBefore(CursorCodec.parseLong(CursorCodec.decode(after, 1)[0]), pageable);
+
+        return KeysetPages.toPage(rows, size,
+                last -> CursorCodec.encode(last.getId()),
+                cardMapper::fromView);
+    }
 }
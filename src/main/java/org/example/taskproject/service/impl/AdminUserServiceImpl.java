@@ -2,6 +2,7 @@ package org.example.taskproject.service.impl;
 
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.example.taskproject.dto.CursorPage;
 import org.example.taskproject.dto.UserDtoRequest;
 import org.example.taskproject.dto.UserDtoResponse;
 import org.example.taskproject.entity.RoleEntity;
@@ -15,12 +16,18 @@ import org.example.taskproject.mapper.UserMapper;
 import org.example.taskproject.repository.RoleRepository;
 import org.example.taskproject.repository.UserRepository;
 import org.example.taskproject.service.AdminUserService;
+import org.example.taskproject.util.CursorCodec;
+import org.example.taskproject.util.KeysetPages;
+import org.example.taskproject.util.TokenVersionCache;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.domain.Sort;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
 
 import java.util.List;
 
@@ -33,6 +40,8 @@ public class AdminUserServiceImpl implements AdminUserService {
     private final RoleRepository roleRepository;
     private final PasswordEncoder passwordEncoder;
     private final UserMapper userMapper;
+    private final TokenVersionCache tokenVersionCache;
+    private final CustomUserDetailsService userDetailsService;
 
     @Override
     @Transactional
@@ -85,7 +94,9 @@ public class AdminUserServiceImpl implements AdminUserService {
         }
 
         user.setUserStatus(UserStatus.BLOCKED);
+        user.setTokenVersion(user.getTokenVersion() + 1);
         userRepository.save(user);
+        refreshCachesAfterCommit(id, user.getTokenVersion(), user.getEmail());
         log.info("User blocked successfully: id={}", id);
     }
 
@@ -103,7 +114,9 @@ public class AdminUserServiceImpl implements AdminUserService {
         }
 
         user.setUserStatus(UserStatus.DELETED);
+        user.setTokenVersion(user.getTokenVersion() + 1);
         userRepository.save(user);
+        refreshCachesAfterCommit(id, user.getTokenVersion(), user.getEmail());
         log.info("User deleted successfully: id={}", id);
     }
 
@@ -127,9 +140,37 @@ public class AdminUserServiceImpl implements AdminUserService {
 
         user.setUserStatus(UserStatus.ACTIVE);
         userRepository.save(user);
+        afterCommit(() -> userDetailsService.evict(user.getEmail()));
         log.info("User activated successfully: id={}", id);
     }
 
+    /**
+     * Updates this node's caches only once the status change is committed, so a rollback cannot
+     * leave them ahead of the database and a concurrent load cannot re-cache the old row. Other
+     * nodes keep accepting the user's existing tokens until their own entries expire, up to
+     * security.token-version.ttl-ms for the token version and security.user-cache.ttl-seconds for
+     * the user details.
+     */
+    private void refreshCachesAfterCommit(Long id, int tokenVersion, String email) {
+        afterCommit(() -> {
+            tokenVersionCache.put(id, tokenVersion);
+            userDetailsService.evict(email);
+        });
+    }
+
+    private static void afterCommit(Runnable action) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            action.run();
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                action.run();
+            }
+        });
+    }
+
     @Override
     @Transactional(readOnly = true)
     public Page<UserDtoResponse> getAllUsers(int page, int size) {
@@ -138,4 +179,19 @@ public class AdminUserServiceImpl implements AdminUserService {
                 PageRequest.of(page, size, Sort.by("id").descending())
         ).map(userMapper::toDto);
     }
+
+    @Override
+    @Transactional(readOnly = true)
+    public CursorPage<UserDtoResponse> scrollUsers(String after, int size) {
+        log.info("Scrolling all users: after={}, size={}", after, size);
+
+        Pageable pageable = KeysetPages.probe(size);
+        List<UserEntity> rows = after == null || after.isBlank()
+                ? userRepository.findAllByOrderByIdDesc(pageable)
+                : userRepository.findByIdLessThanOrderByIdDesc(CursorCodec.parseLong(CursorCodec.decode(after, 1)[0]), pageable);
+
+        return KeysetPages.toPage(rows, size,
+                last -> CursorCodec.encode(last.getId()),
+                userMapper::toDto);
+    }
 }
@@ -15,15 +15,16 @@ import org.example.taskproject.mapper.UserMapper;
 import org.example.taskproject.repository.RoleRepository;
 import org.example.taskproject.repository.UserRepository;
 import org.example.taskproject.service.*;
+import org.example.taskproject.util.AuthenticatedUser;
+import org.example.taskproject.util.CurrentUserResolver;
 import org.example.taskproject.util.JwtUtil;
+import org.example.taskproject.util.ParsedToken;
+import org.example.taskproject.util.PasswordHashingExecutor;
 import org.springframework.security.authentication.BadCredentialsException;
-import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Service;
-import org.springframework.transaction.annotation.Transactional;
 import org.springframework.security.core.Authentication;
 
 import java.security.NoSuchAlgorithmException;
-import java.time.Instant;
 import java.util.List;
 
 @Slf4j
@@ -32,7 +33,7 @@ import java.util.List;
 public class AuthServiceImpl implements AuthService {
 
     private final UserRepository userRepository;
-    private final PasswordEncoder passwordEncoder;
+    private final PasswordHashingExecutor passwordHasher;
     private final UserMapper userMapper;
     private final RoleRepository roleRepository;
     private final CustomUserDetailsService customUserDetailsService;
@@ -40,9 +41,9 @@ public class AuthServiceImpl implements AuthService {
     private final JwtUtil jwtUtil;
     private final ResetTokenServiceImpl resetTokenService;
     private final BlacklistedTokenServiceImpl blacklistedTokenService;
+    private final CurrentUserResolver currentUserResolver;
 
     @Override
-    @Transactional
     public void signUp(UserDtoRequest dto) {
         log.info("Signing up user: {}", dto.getEmail());
 
@@ -63,15 +64,15 @@ public class AuthServiceImpl implements AuthService {
             throw new PasswordMismatchException("PASSWORD_MISMATCH");
         }
 
-        userEntity.setPassword(passwordEncoder.encode(dto.getPassword()));
-        userEntity.setUserStatus(UserStatus.ACTIVE);
-
         RoleEntity userRole = roleRepository.findByName(RoleName.USER)
                 .orElseThrow(() -> {
                     log.error("ROLE_NOT_FOUND");
                     return new NotFoundException("ROLE_NOT_FOUND");
                 });
 
+        // Hashing happens before any transaction is opened; save() runs in its own short one.
+        userEntity.setPassword(passwordHasher.encode(dto.getPassword()));
+        userEntity.setUserStatus(UserStatus.ACTIVE);
         userEntity.setRoles(List.of(userRole));
         userRepository.save(userEntity);
 
@@ -84,7 +85,7 @@ public class AuthServiceImpl implements AuthService {
 
         var user = customUserDetailsService.loadUserByUsername(authRequest.getEmail());
 
-        if (user == null || !passwordEncoder.matches(authRequest.getPassword(), user.getPassword())) {
+        if (user == null || !passwordHasher.matches(authRequest.getPassword(), user.getPassword())) {
             log.warn("Incorrect credentials for email: {}", authRequest.getEmail());
             throw new BadCredentialsException("Incorrect username or password");
         }
@@ -102,21 +103,24 @@ public class AuthServiceImpl implements AuthService {
             throw new BadCredentialsException("VERIFY_FAILED");
         }
 
-        String token = jwtUtil.generateToken(otpDto.getEmail());
+        UserEntity user = userRepository.findWithRolesByEmail(otpDto.getEmail())
+                .orElseThrow(() -> new NotFoundException("USER_NOT_FOUND"));
+
+        String token = jwtUtil.generateToken(user);
         log.info("OTP verified successfully, token generated for: {}", otpDto.getEmail());
         return new AuthResponse(token);
     }
 
     @Override
-    @Transactional
     public void resetPassword(HttpServletRequest request, Authentication authentication, ResetPasswordDto passwordDto) {
         String email = authentication.getName();
         log.info("Resetting password for user: {}", email);
 
-        UserEntity user = userRepository.findByEmail(email)
+        AuthenticatedUser user = currentUserResolver.resolve(authentication);
+        String passwordHash = userRepository.findPasswordById(user.id())
                 .orElseThrow(() -> new NotFoundException("USER_NOT_FOUND"));
 
-        if (!passwordEncoder.matches(passwordDto.getOldPassword(), user.getPassword())) {
+        if (!passwordHasher.matches(passwordDto.getOldPassword(), passwordHash)) {
             log.warn("Old password mismatch for user: {}", email);
             throw new PasswordMismatchException("OLD_PASSWORD_MISMATCH");
         }
@@ -126,8 +130,8 @@ public class AuthServiceImpl implements AuthService {
             throw new PasswordMismatchException("PASSWORD_MISMATCH");
         }
 
-        user.setPassword(passwordEncoder.encode(passwordDto.getNewPassword()));
-        userRepository.save(user);
+        userRepository.updatePassword(user.id(), passwordHasher.encode(passwordDto.getNewPassword()));
+        customUserDetailsService.evict(email);
 
         logout(request);
         log.info("Password reset successful for user: {}", email);
@@ -161,7 +165,6 @@ public class AuthServiceImpl implements AuthService {
     }
 
     @Override
-    @Transactional
     public void verifyResetToken(ForgotPasswordDto forgotPasswordDto, String token) throws NoSuchAlgorithmException {
         log.info("Verifying reset token for user: {}", forgotPasswordDto.getEmail());
 
@@ -178,8 +181,8 @@ public class AuthServiceImpl implements AuthService {
             throw new PasswordMismatchException("PASSWORD_MISMATCH");
         }
 
-        user.setPassword(passwordEncoder.encode(forgotPasswordDto.getPassword()));
-        userRepository.save(user);
+        userRepository.updatePassword(user.getId(), passwordHasher.encode(forgotPasswordDto.getPassword()));
+        customUserDetailsService.evict(forgotPasswordDto.getEmail());
 
         log.info("Password reset successfully for user: {}", forgotPasswordDto.getEmail());
     }
@@ -187,10 +190,9 @@ public class AuthServiceImpl implements AuthService {
     @Override
     public void logout(HttpServletRequest request) {
         String token = jwtUtil.resolveToken(request);
-        String jti = jwtUtil.getJti(token);
-        Instant expiry = jwtUtil.getExpiration(token);
-        blacklistedTokenService.blacklist(jti, expiry);
+        ParsedToken parsedToken = jwtUtil.parse(token);
+        blacklistedTokenService.blacklist(parsedToken.jti(), parsedToken.expiration());
 
-        log.info("User logged out, token blacklisted: jti={}", jti);
+        log.info("User logged out, token blacklisted: jti={}", parsedToken.jti());
     }
 }
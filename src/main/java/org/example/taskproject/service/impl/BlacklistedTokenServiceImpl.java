@@ -5,35 +5,98 @@ import lombok.extern.slf4j.Slf4j;
 import org.example.taskproject.entity.BlacklistedToken;
 import org.example.taskproject.repository.BlacklistedTokenRepository;
 import org.example.taskproject.service.BlacklistedTokenService;
+import org.example.taskproject.util.ClusterJobLock;
+import org.example.taskproject.util.ExpiringTablePurger;
+import org.example.taskproject.util.JtiBlacklistCache;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.time.Duration;
 import java.time.Instant;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicLong;
 
 @Slf4j
 @Service
 @RequiredArgsConstructor
 public class BlacklistedTokenServiceImpl implements BlacklistedTokenService {
 
+    // Ids are taken at insert but become visible at commit, so a logout can land below the highest
+    // id already synced. Each sync re-reads this many ids under the mark; a row is only missed if it
+    // stays uncommitted while more than this many later logouts commit.
+    static final long SYNC_OVERLAP_IDS = 1000;
+
     private final BlacklistedTokenRepository repository;
+    private final JtiBlacklistCache blacklistCache;
+    private final ExpiringTablePurger tablePurger;
+    private final ClusterJobLock jobLock;
+    private final AtomicLong lastSyncedId = new AtomicLong();
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void warmUp() {
+        List<BlacklistedToken> tokens = repository.findByExpiryDateAfter(Instant.now());
+        Map<String, Instant> active = new HashMap<>();
+        tokens.forEach(token -> active.put(token.getJti(), token.getExpiryDate()));
+
+        blacklistCache.warmUp(active, repository.count());
+        trackLastSyncedId(tokens);
+        log.info("Token blacklist cache warmed up: activeTokens={}", active.size());
+    }
 
     @Transactional
     public void blacklist(String jti, Instant expiry) {
         log.info("Blacklisting token: jti={}, expiry={}", jti, expiry);
         repository.save(new BlacklistedToken(jti, expiry));
+        blacklistCache.put(jti, expiry);
     }
 
-    @Transactional(readOnly = true)
     public boolean isBlacklisted(String jti) {
-        boolean result = repository.findByJti(jti).isPresent();
+        if (blacklistCache.isWarm() && !blacklistCache.mightContain(jti)) {
+            log.debug("Token blacklist check: jti={}, blacklisted=false (bloom filter)", jti);
+            return false;
+        }
+
+        Instant now = Instant.now();
+        if (blacklistCache.contains(jti, now)) {
+            log.debug("Token blacklist check: jti={}, blacklisted=true (local cache)", jti);
+            return true;
+        }
+
+        Optional<BlacklistedToken> token = repository.findByJti(jti);
+        token.filter(t -> t.getExpiryDate().isAfter(now))
+                .ifPresent(t -> blacklistCache.put(t.getJti(), t.getExpiryDate()));
+
+        boolean result = token.isPresent();
         log.debug("Token blacklist check: jti={}, blacklisted={}", jti, result);
         return result;
     }
 
-    @Transactional
+    public void sync() {
+        List<BlacklistedToken> tokens = repository.findByIdGreaterThan(Math.max(0, lastSyncedId.get() - SYNC_OVERLAP_IDS));
+        Instant now = Instant.now();
+        tokens.stream()
+                .filter(token -> token.getExpiryDate().isAfter(now))
+                .forEach(token -> blacklistCache.put(token.getJti(), token.getExpiryDate()));
+        trackLastSyncedId(tokens);
+        log.debug("Token blacklist cache synced: readTokens={}", tokens.size());
+    }
+
     public void cleanup() {
         log.info("Cleaning up expired blacklisted tokens");
-        repository.deleteByExpiryDateBefore(Instant.now());
-        log.info("Expired blacklisted tokens cleanup complete");
+        jobLock.run("blacklist-cleanup", Duration.ofHours(1), () -> tablePurger.purge("blacklisted_tokens"));
+        int pruned = blacklistCache.prune(Instant.now());
+        log.info("Expired blacklisted tokens cleanup complete: prunedFromCache={}", pruned);
+    }
+
+    private void trackLastSyncedId(List<BlacklistedToken> tokens) {
+        tokens.stream()
+                .mapToLong(BlacklistedToken::getId)
+                .max()
+                .ifPresent(maxId -> lastSyncedId.accumulateAndGet(maxId, Math::max));
     }
 }
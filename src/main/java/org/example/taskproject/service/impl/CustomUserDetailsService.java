@@ -1,9 +1,14 @@
 package org.example.taskproject.service.impl;
 
-import lombok.RequiredArgsConstructor;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
 import lombok.extern.slf4j.Slf4j;
 import org.example.taskproject.entity.UserEntity;
 import org.example.taskproject.repository.UserRepository;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.security.core.GrantedAuthority;
 import org.springframework.security.core.authority.SimpleGrantedAuthority;
 import org.springframework.security.core.userdetails.User;
 import org.springframework.security.core.userdetails.UserDetails;
@@ -11,29 +16,59 @@ import org.springframework.security.core.userdetails.UserDetailsService;
 import org.springframework.security.core.userdetails.UsernameNotFoundException;
 import org.springframework.stereotype.Service;
 
+import java.time.Duration;
+import java.util.List;
+
 @Slf4j
 @Service
-@RequiredArgsConstructor
 public class CustomUserDetailsService implements UserDetailsService {
 
     private final UserRepository userRepository;
+    private final Cache<String, CachedUser> userCache;
+
+    public CustomUserDetailsService(UserRepository userRepository,
+                                    MeterRegistry meterRegistry,
+                                    @Value("${security.user-cache.max-size:10000}") long maxSize,
+                                    @Value("${security.user-cache.ttl-seconds:60}") long ttlSeconds) {
+        this.userRepository = userRepository;
+        this.userCache = Caffeine.newBuilder()
+                .maximumSize(maxSize)
+                .expireAfterWrite(Duration.ofSeconds(ttlSeconds))
+                .recordStats()
+                .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, userCache, "userDetails");
+    }
 
     @Override
     public UserDetails loadUserByUsername(String email) throws UsernameNotFoundException {
         log.info("Loading user by email: {}", email);
 
-        UserEntity userEntity = userRepository.findByEmail(email)
+        CachedUser cachedUser = userCache.get(email, this::loadFromDatabase);
+
+        log.info("User loaded successfully: {}", email);
+        return new User(cachedUser.email(), cachedUser.password(), cachedUser.authorities());
+    }
+
+    public void evict(String email) {
+        userCache.invalidate(email);
+        log.info("User details cache evicted: {}", email);
+    }
+
+    private CachedUser loadFromDatabase(String email) {
+        UserEntity userEntity = userRepository.findWithRolesByEmail(email)
                 .orElseThrow(() -> {
                     log.warn("User not found with email: {}", email);
                     return new UsernameNotFoundException("User not found with email: " + email);
                 });
 
-        var roles = userEntity.getRoles()
+        List<GrantedAuthority> roles = userEntity.getRoles()
                 .stream()
-                .map(role -> new SimpleGrantedAuthority("ROLE_" + role.getName().name()))
+                .<GrantedAuthority>map(role -> new SimpleGrantedAuthority("ROLE_" + role.getName().name()))
                 .toList();
 
-        log.info("User loaded successfully: {}", email);
-        return new User(userEntity.getEmail(), userEntity.getPassword(), roles);
+        return new CachedUser(userEntity.getEmail(), userEntity.getPassword(), roles);
+    }
+
+    private record CachedUser(String email, String password, List<GrantedAuthority> authorities) {
     }
 }
@@ -2,37 +2,42 @@ package org.example.taskproject.service.impl;
 
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.example.taskproject.entity.EmailOutbox;
+import org.example.taskproject.repository.EmailOutboxRepository;
 import org.example.taskproject.service.EmailService;
-import org.springframework.mail.SimpleMailMessage;
-import org.springframework.mail.javamail.JavaMailSender;
 import org.springframework.stereotype.Service;
 
+import java.time.Duration;
+import java.time.Instant;
+
+/**
+ * Emails are written to the outbox in the caller's transaction and delivered later by
+ * {@link org.example.taskproject.util.EmailOutboxDispatcher}, so no SMTP I/O happens on request threads.
+ * Each email expires with the code it carries; the body is blanked once the row is finished.
+ */
 @Slf4j
 @Service
 @RequiredArgsConstructor
 public class EmailServiceImpl implements EmailService {
 
-    private final JavaMailSender mailSender;
+    private static final Duration OTP_TTL = Duration.ofMinutes(3);
+    private static final Duration TOKEN_TTL = Duration.ofMinutes(10);
+
+    private final EmailOutboxRepository emailOutboxRepository;
 
     @Override
     public void sendOtpEmail(String to, String otp) {
-        SimpleMailMessage message = new SimpleMailMessage();
-        message.setTo(to);
-        message.setSubject("Your OTP Code");
-        message.setText("Your OTP code is: " + otp + "\nThis code is valid for 3 minutes.");
-
-        mailSender.send(message);
-        log.info("OTP email sent to: {}", to);
+        enqueue(to, "Your OTP Code", "Your OTP code is: " + otp + "\nThis code is valid for 3 minutes.", OTP_TTL);
+        log.info("OTP email queued for: {}", to);
     }
 
     @Override
     public void sendToken(String to, String token) {
-        SimpleMailMessage message = new SimpleMailMessage();
-        message.setTo(to);
-        message.setSubject("Your Token");
-        message.setText("Your token is: " + token + "\nThis token is valid for 10 minutes.");
+        enqueue(to, "Your Token", "Your token is: " + token + "\nThis token is valid for 10 minutes.", TOKEN_TTL);
+        log.info("Token email queued for: {}", to);
+    }
 
-        mailSender.send(message);
-        log.info("Token email sent to: {}", to);
+    private void enqueue(String to, String subject, String text, Duration ttl) {
+        emailOutboxRepository.save(new EmailOutbox(to, subject, text, Instant.now(), ttl));
     }
 }
@@ -49,7 +49,7 @@ public class ResetTokenServiceImpl implements ResetTokenService {
         log.info("Reset token saved for userId={}", user.getId());
 
         emailService.sendToken(email, resetToken);
-        log.info("Reset token email sent to: {}", email);
+        log.info("Reset token email queued for: {}", email);
     }
 
     @Override
@@ -61,9 +61,7 @@ public class ResetTokenServiceImpl implements ResetTokenService {
                 .orElseThrow(() -> new NotFoundException("USER_NOT_FOUND"));
 
         PasswordResetToken passwordResetToken = passwordResetTokenRepository
-                .findByUserOrderByExpiryDateDesc(user)
-                .stream()
-                .findFirst()
+                .findFirstByUserOrderByExpiryDateDesc(user)
                 .orElseThrow(() -> {
                     log.warn("No reset token found for userId={}", user.getId());
                     return new NotFoundException("TOKEN_NOT_FOUND");
@@ -0,0 +1,268 @@
+package org.example.taskproject.service.impl;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
+import lombok.extern.slf4j.Slf4j;
+import org.example.taskproject.dto.UserDtoRequest;
+import org.example.taskproject.dto.UserImportError;
+import org.example.taskproject.dto.UserImportProgress;
+import org.example.taskproject.entity.RoleEntity;
+import org.example.taskproject.enums.RoleName;
+import org.example.taskproject.enums.UserImportFormat;
+import org.example.taskproject.enums.UserStatus;
+import org.example.taskproject.exception.NotFoundException;
+import org.example.taskproject.repository.RoleRepository;
+import org.example.taskproject.repository.UserRepository;
+import org.example.taskproject.service.UserImportService;
+import org.example.taskproject.util.PasswordHashingExecutor;
+import org.example.taskproject.util.UserImportReader;
+import org.example.taskproject.util.UserImportReader.Row;
+import org.postgresql.PGConnection;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.io.StringReader;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Set;
+import java.util.function.Consumer;
+import java.util.stream.Collectors;
+
+/**
+ * Imports users chunk by chunk: validates rows, drops duplicates against the file so far and one
+ * batched lookup of existing emails and usernames, hashes passwords on the shared hashing pool,
+ * then COPYs the chunk into a staging table and moves it into users and user_role with a single
+ * statement. Each chunk commits on its own and is reported to the listener.
+ */
+@Slf4j
+@Service
+public class UserImportServiceImpl implements UserImportService {
+
+    // Same step as users_seq and the pooled generator on UserEntity: nextval value v owns ids v-49..v.
+    private static final int ID_BLOCK = 50;
+    // Width of users.email; @Email alone does not bound it.
+    private static final int MAX_EMAIL_LENGTH = 100;
+    // BCrypt refuses passwords longer than this many bytes.
+    private static final int MAX_PASSWORD_BYTES = 72;
+    private static final List<String> VALIDATED_FIELDS = List.of("username", "email", "password");
+
+    private final UserRepository userRepository;
+    private final RoleRepository roleRepository;
+    private final PasswordHashingExecutor passwordHasher;
+    private final Validator validator;
+    private final ObjectMapper objectMapper;
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final int chunkSize;
+
+    public UserImportServiceImpl(UserRepository userRepository,
+                                 RoleRepository roleRepository,
+                                 PasswordHashingExecutor passwordHasher,
+                                 Validator validator,
+                                 ObjectMapper objectMapper,
+                                 JdbcTemplate jdbcTemplate,
+                                 PlatformTransactionManager transactionManager,
+                                 @Value("${user-import.chunk-size:500}") int chunkSize) {
+        this.userRepository = userRepository;
+        this.roleRepository = roleRepository;
+        this.passwordHasher = passwordHasher;
+        this.validator = validator;
+        this.objectMapper = objectMapper;
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.chunkSize = Math.max(1, chunkSize);
+    }
+
+    @Override
+    public UserImportProgress importUsers(Reader input, UserImportFormat format,
+                                          Consumer<UserImportProgress> progressListener) throws IOException {
+        UserImportReader reader = new UserImportReader(input, format, objectMapper);
+        Long roleId = roleRepository.findByName(RoleName.USER)
+                .map(RoleEntity::getId)
+                .orElseThrow(() -> {
+                    log.error("ROLE_NOT_FOUND");
+                    return new NotFoundException("ROLE_NOT_FOUND");
+                });
+        log.info("Importing users: format={}, chunkSize={}", format, chunkSize);
+
+        UserImportProgress totals = new UserImportProgress(0, 0, 0, false, List.of());
+        Set<String> seenUsernames = new HashSet<>();
+        Set<String> seenEmails = new HashSet<>();
+        List<Row> chunk = new ArrayList<>(chunkSize);
+
+        for (Row row = reader.next(); row != null; row = reader.next()) {
+            chunk.add(row);
+            if (chunk.size() == chunkSize) {
+                importChunk(chunk, roleId, seenUsernames, seenEmails, totals, progressListener);
+                chunk.clear();
+            }
+        }
+        if (!chunk.isEmpty()) {
+            importChunk(chunk, roleId, seenUsernames, seenEmails, totals, progressListener);
+        }
+
+        totals.setDone(true);
+        progressListener.accept(totals);
+        log.info("User import finished: processed={}, imported={}, failed={}",
+                totals.getProcessed(), totals.getImported(), totals.getFailed());
+        return totals;
+    }
+
+    private void importChunk(List<Row> chunk, Long roleId, Set<String> seenUsernames, Set<String> seenEmails,
+                             UserImportProgress totals, Consumer<UserImportProgress> progressListener) {
+        List<UserImportError> errors = new ArrayList<>();
+        List<Row> candidates = new ArrayList<>(chunk.size());
+
+        for (Row row : chunk) {
+            String error = row.error() != null ? row.error() : validationError(row);
+            if (error == null && seenUsernames.contains(row.username())) {
+                error = "USERNAME_ALREADY_EXIST";
+            } else if (error == null && seenEmails.contains(row.email())) {
+                error = "EMAIL_ALREADY_EXIST";
+            }
+
+            if (error != null) {
+                errors.add(new UserImportError(row.line(), error));
+            } else {
+                seenUsernames.add(row.username());
+                seenEmails.add(row.email());
+                candidates.add(row);
+            }
+        }
+
+        int imported = 0;
+        if (!candidates.isEmpty()) {
+            rejectExisting(candidates, errors);
+        }
+        List<String> hashes = new ArrayList<>(candidates.size());
+        if (!candidates.isEmpty()) {
+            // Hashing stays outside the transaction, as in signUp.
+            hashes.addAll(passwordHasher.encodeAll(candidates.stream().map(Row::password).toList()));
+            rejectUnhashed(candidates, hashes, errors);
+        }
+        if (!candidates.isEmpty()) {
+            List<Integer> conflicts = transactionTemplate.execute(status -> insert(candidates, hashes, roleId));
+            conflicts.forEach(line -> errors.add(new UserImportError(line, "EMAIL_ALREADY_EXIST")));
+            imported = candidates.size() - conflicts.size();
+        }
+
+        errors.sort(Comparator.comparingInt(UserImportError::getLine));
+        totals.setProcessed(totals.getProcessed() + chunk.size());
+        totals.setImported(totals.getImported() + imported);
+        totals.setFailed(totals.getFailed() + errors.size());
+        progressListener.accept(new UserImportProgress(
+                totals.getProcessed(), totals.getImported(), totals.getFailed(), false, errors));
+        log.info("User import progress: processed={}, imported={}, failed={}",
+                totals.getProcessed(), totals.getImported(), totals.getFailed());
+    }
+
+    private String validationError(Row row) {
+        Set<String> invalid = validator.validate(new UserDtoRequest(row.username(), row.password(), row.password(), row.email()))
+                .stream()
+                .map(ConstraintViolation::getPropertyPath)
+                .map(Object::toString)
+                .collect(Collectors.toSet());
+
+        for (String field : VALIDATED_FIELDS) {
+            if (invalid.contains(field)) {
+                return "INVALID_" + field.toUpperCase(Locale.ROOT);
+            }
+        }
+        if (row.email().length() > MAX_EMAIL_LENGTH) {
+            return "INVALID_EMAIL";
+        }
+        return row.password().getBytes(StandardCharsets.UTF_8).length > MAX_PASSWORD_BYTES ? "INVALID_PASSWORD" : null;
+    }
+
+    private void rejectExisting(List<Row> candidates, List<UserImportError> errors) {
+        Set<String> existingUsernames = new HashSet<>(userRepository.findExistingUsernames(
+                candidates.stream().map(Row::username).toList()));
+        Set<String> existingEmails = new HashSet<>(userRepository.findExistingEmails(
+                candidates.stream().map(Row::email).toList()));
+
+        candidates.removeIf(row -> {
+            String error = existingUsernames.contains(row.username()) ? "USERNAME_ALREADY_EXIST"
+                    : existingEmails.contains(row.email()) ? "EMAIL_ALREADY_EXIST"
+                    : null;
+            if (error != null) {
+                errors.add(new UserImportError(row.line(), error));
+            }
+            return error != null;
+        });
+    }
+
+    private static void rejectUnhashed(List<Row> candidates, List<String> hashes, List<UserImportError> errors) {
+        for (int i = hashes.size() - 1; i >= 0; i--) {
+            if (hashes.get(i) == null) {
+                errors.add(new UserImportError(candidates.remove(i).line(), "INVALID_PASSWORD"));
+                hashes.remove(i);
+            }
+        }
+    }
+
+    /** Returns the lines that lost their email to a concurrent signup after the lookup. */
+    private List<Integer> insert(List<Row> rows, List<String> hashes, Long roleId) {
+        List<Long> blocks = jdbcTemplate.queryForList("SELECT nextval('users_seq') FROM generate_series(1, ?)",
+                Long.class, (rows.size() + ID_BLOCK - 1) / ID_BLOCK);
+
+        StringBuilder csv = new StringBuilder(rows.size() * 128);
+        for (int i = 0; i < rows.size(); i++) {
+            Row row = rows.get(i);
+            long id = blocks.get(i / ID_BLOCK) - ID_BLOCK + 1 + i % ID_BLOCK;
+            csv.append(row.line()).append(',').append(id).append(',');
+            appendQuoted(csv, row.username()).append(',');
+            appendQuoted(csv, row.email()).append(',');
+            appendQuoted(csv, hashes.get(i)).append('\n');
+        }
+
+        jdbcTemplate.execute("""
+                CREATE TEMP TABLE user_import (
+                    line INT, id BIGINT, username VARCHAR(50), email VARCHAR(100), password VARCHAR(255)
+                ) ON COMMIT DROP
+                """);
+        jdbcTemplate.execute((ConnectionCallback<Long>) connection -> {
+            try {
+                return connection.unwrap(PGConnection.class).getCopyAPI().copyIn(
+                        "COPY user_import (line, id, username, email, password) FROM STDIN WITH (FORMAT csv)",
+                        new StringReader(csv.toString()));
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        });
+
+        int inserted = jdbcTemplate.update("""
+                WITH inserted AS (
+                    INSERT INTO users (id, username, password, email, user_status, token_version)
+                    SELECT id, username, password, email, ?, 0 FROM user_import
+                    ON CONFLICT DO NOTHING
+                    RETURNING id
+                )
+                INSERT INTO user_role (user_id, role_id) SELECT id, ? FROM inserted
+                """, UserStatus.ACTIVE.name(), roleId);
+
+        if (inserted == rows.size()) {
+            return List.of();
+        }
+        return jdbcTemplate.queryForList("""
+                SELECT s.line FROM user_import s
+                WHERE NOT EXISTS (SELECT 1 FROM users u WHERE u.id = s.id)
+                ORDER BY s.line
+                """, Integer.class);
+    }
+
+    private static StringBuilder appendQuoted(StringBuilder csv, String value) {
+        return csv.append('"').append(value.replace("\"", "\"\"")).append('"');
+    }
+}
@@ -3,18 +3,32 @@ package org.example.taskproject.service.impl;
 
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.example.taskproject.dto.CardAccessView;
 import org.example.taskproject.dto.CardResponse;
+import org.example.taskproject.dto.CardTransactionResponse;
+import org.example.taskproject.dto.CardView;
+import org.example.taskproject.dto.CursorPage;
+import org.example.taskproject.dto.TransferRequest;
+import org.example.taskproject.dto.TransferResponse;
 import org.example.taskproject.entity.CardEntity;
-import org.example.taskproject.entity.UserEntity;
+import org.example.taskproject.entity.CardTransaction;
 import org.example.taskproject.enums.CardStatus;
+import org.example.taskproject.enums.LedgerEntryType;
+import org.example.taskproject.enums.TransferStatus;
 import org.example.taskproject.exception.AccessDeniedException;
 import org.example.taskproject.exception.CardInactiveException;
+import org.example.taskproject.exception.InvalidRequestException;
 import org.example.taskproject.exception.NotFoundException;
 import org.example.taskproject.exception.UnsufficientBalanceException;
 import org.example.taskproject.mapper.CardMapper;
 import org.example.taskproject.repository.CardRepository;
-import org.example.taskproject.repository.UserRepository;
+import org.example.taskproject.repository.CardTransactionRepository;
 import org.example.taskproject.service.UserService;
+import org.example.taskproject.util.AuthenticatedUser;
+import org.example.taskproject.util.CurrentUserResolver;
+import org.example.taskproject.util.CursorCodec;
+import org.example.taskproject.util.KeysetPages;
+import org.example.taskproject.util.OptimisticRetryExecutor;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
@@ -24,48 +38,71 @@ import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.math.BigDecimal;
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.UUID;
+import java.util.function.Function;
+import java.util.stream.Collectors;
 
 @Slf4j
 @Service
 @RequiredArgsConstructor
 public class UserServiceImpl implements UserService {
 
-    private final UserRepository userRepository;
+    private final CurrentUserResolver currentUserResolver;
     private final CardRepository cardRepository;
     private final CardMapper cardMapper;
+    private final OptimisticRetryExecutor retryExecutor;
+    private final CardTransactionRepository cardTransactionRepository;
 
     @Transactional(readOnly = true)
     public Page<CardResponse> getCards(Authentication authentication, int page, int size) {
         String email = authentication.getName();
         log.info("Fetching cards for user={}", email);
 
-        UserEntity user = userRepository.findByEmail(email)
-                .orElseThrow(() -> {
-                    log.warn("User not found: {}", email);
-                    return new NotFoundException("USER_NOT_FOUND");
-                });
+        AuthenticatedUser user = currentUserResolver.resolve(authentication);
 
         Pageable pageable = PageRequest.of(page, size, Sort.by("expirationDate").descending());
-        return cardRepository.findByUserId(user.getId(), pageable)
-                .map(cardMapper::toCardDtoResponse);
+        return cardRepository.findViewsByUserId(user.id(), pageable)
+                .map(cardMapper::fromView);
     }
 
 
     @Transactional(readOnly = true)
-    public BigDecimal getBalance(Authentication authentication, String cardNumber) {
+    public CursorPage<CardResponse> scrollCards(Authentication authentication, String after, int size) {
         String email = authentication.getName();
-        log.info("Getting balance for card={} user={}", cardNumber, email);
+        log.info("Scrolling cards for user={}", email);
+
+        AuthenticatedUser user = currentUserResolver.resolve(authentication);
+
+        Pageable pageable = KeysetPages.probe(size);
+        List<CardView> rows;
+        if (after == null || after.isBlank()) {
+            rows = cardRepository.findUserCards(user.id(), pageable);
+        } else {
+            String[] key = CursorCodec.decode(after, 2);
+            rows = cardRepository.findUserCardsAfter(user.id(),
+                    CursorCodec.parseDate(key[0]), CursorCodec.parseLong(key[1]), pageable);
+        }
 
-        CardEntity card = cardRepository.findByCardNumber(cardNumber)
-                .orElseThrow(() -> new NotFoundException("CARD_NOT_FOUND"));
+        return KeysetPages.toPage(rows, size,
+                last -> CursorCodec.encode(last.getExpirationDate(), last.getId()),
+                cardMapper::fromView);
+    }
 
-        UserEntity user = userRepository.findByEmail(email)
-                .orElseThrow(() -> new NotFoundException("USER_NOT_FOUND"));
 
-        if (!card.getUser().getId().equals(user.getId())) {
-            log.warn("Access denied to card={} user={}", cardNumber, email);
-            throw new AccessDeniedException("CARD_DOES_NOT_BELONG_TO_USER");
-        }
+    @Transactional(readOnly = true)
+    public BigDecimal getBalance(Authentication authentication, String cardNumber) {
+        String email = authentication.getName();
+        log.info("Getting balance for card={} user={}", cardNumber, email);
+
+        CardAccessView card = ownedCard(cardNumber, email);
 
         if (card.getCardStatus() != CardStatus.ACTIVE) {
             log.warn("Inactive card access attempt: {}", cardNumber);
@@ -76,27 +113,178 @@ public class UserServiceImpl implements UserService {
     }
 
 
-    @Transactional
     public void transaction(Authentication authentication,
                             String cardNumberFrom,
                             String cardNumberTo,
                             BigDecimal amount) {
+        // The guarded UPDATEs never raise version conflicts: only deadlocks and lock timeouts are retried.
+        retryExecutor.run("transfer",
+                () -> transfer(authentication, cardNumberFrom, cardNumberTo, amount));
+    }
+
+    private void transfer(Authentication authentication,
+                          String cardNumberFrom,
+                          String cardNumberTo,
+                          BigDecimal amount) {
 
         String email = authentication.getName();
         log.info("Transaction request: from={} to={} amount={} user={}",
                 cardNumberFrom, cardNumberTo, amount, email);
 
-        CardEntity cardFrom = cardRepository.findByCardNumber(cardNumberFrom)
+        validateAmount(amount, email);
+
+        Map<String, CardAccessView> cards = cardRepository.findAccessByCardNumberIn(List.of(cardNumberFrom, cardNumberTo))
+                .stream()
+                .collect(Collectors.toMap(CardAccessView::getCardNumber, Function.identity()));
+
+        CardAccessView cardFrom = Optional.ofNullable(cards.get(cardNumberFrom))
                 .orElseThrow(() -> new NotFoundException("CARD_FROM_NOT_FOUND"));
 
-        CardEntity cardTo = cardRepository.findByCardNumber(cardNumberTo)
+        CardAccessView cardTo = Optional.ofNullable(cards.get(cardNumberTo))
                 .orElseThrow(() -> new NotFoundException("CARD_TO_NOT_FOUND"));
 
-        UserEntity user = userRepository.findByEmail(email)
-                .orElseThrow(() -> new NotFoundException("USER_NOT_FOUND"));
+        validateTransfer(email, cardFrom, cardTo, amount);
+
+        // Row locks are always taken in card id order so opposite transfers cannot deadlock.
+        if (cardFrom.getId() < cardTo.getId()) {
+            debit(cardFrom, amount);
+            credit(cardTo, amount);
+        } else {
+            credit(cardTo, amount);
+            debit(cardFrom, amount);
+        }
+
+        cardTransactionRepository.saveAll(ledgerEntries(cardFrom.getId(), cardTo.getId(), amount, now()));
+        log.info("Transaction successful");
+    }
+
+    public List<TransferResponse> batchTransaction(Authentication authentication,
+                                                   List<TransferRequest> transfers) {
+        return retryExecutor.execute("batchTransfer", () -> applyBatch(authentication, transfers));
+    }
+
+    private List<TransferResponse> applyBatch(Authentication authentication, List<TransferRequest> transfers) {
+        String email = authentication.getName();
+        log.info("Batch transaction request: size={} user={}", transfers.size(), email);
+
+        Set<String> cardNumbers = new HashSet<>();
+        transfers.forEach(transfer -> {
+            cardNumbers.add(transfer.getCardNumberFrom());
+            cardNumbers.add(transfer.getCardNumberTo());
+        });
+
+        // Every referenced card is locked up front, in id order, with a single query.
+        Map<String, CardEntity> cards = cardRepository.findByCardNumberIn(cardNumbers)
+                .stream()
+                .collect(Collectors.toMap(CardEntity::getCardNumber, Function.identity()));
+        // Owners are read without locking their user rows.
+        Map<String, String> ownerEmails = cards.isEmpty() ? Map.of() : cardRepository.findAccessByCardNumberIn(cards.keySet())
+                .stream()
+                .collect(Collectors.toMap(CardAccessView::getCardNumber, CardAccessView::getOwnerEmail));
+
+        List<TransferResponse> results = new ArrayList<>(transfers.size());
+        List<CardTransaction> entries = new ArrayList<>();
+        Instant now = now();
+        int failed = 0;
+
+        for (int i = 0; i < transfers.size(); i++) {
+            TransferRequest transfer = transfers.get(i);
+            try {
+                BigDecimal amount = transfer.getAmount();
+                validateAmount(amount, email);
+
+                CardEntity cardFrom = Optional.ofNullable(cards.get(transfer.getCardNumberFrom()))
+                        .orElseThrow(() -> new NotFoundException("CARD_FROM_NOT_FOUND"));
+
+                CardEntity cardTo = Optional.ofNullable(cards.get(transfer.getCardNumberTo()))
+                        .orElseThrow(() -> new NotFoundException("CARD_TO_NOT_FOUND"));
+
+                validateTransfer(email, accessOf(cardFrom, ownerEmails), accessOf(cardTo, ownerEmails), amount);
+
+                cardFrom.setBalance(cardFrom.getBalance().subtract(amount));
+                cardTo.setBalance(cardTo.getBalance().add(amount));
+                entries.addAll(ledgerEntries(cardFrom.getId(), cardTo.getId(), amount, now));
+                results.add(new TransferResponse(i, TransferStatus.SUCCESS, null));
+            } catch (NotFoundException | AccessDeniedException | CardInactiveException
+                     | UnsufficientBalanceException | InvalidRequestException e) {
+                log.warn("Batch transfer item rejected: index={} reason={} user={}", i, e.getMessage(), email);
+                results.add(new TransferResponse(i, TransferStatus.FAILED, e.getMessage()));
+                failed++;
+            }
+        }
+
+        cardTransactionRepository.saveAll(entries);
+        log.info("Batch transaction complete: succeeded={} failed={}", transfers.size() - failed, failed);
+        return results;
+    }
+
+    @Transactional(readOnly = true)
+    public CursorPage<CardTransactionResponse> getTransactions(Authentication authentication,
+                                                               String cardNumber,
+                                                               String cursor,
+                                                               int size) {
+        String email = authentication.getName();
+        log.info("Fetching transactions for card={} user={}", cardNumber, email);
+
+        CardAccessView card = ownedCard(cardNumber, email);
+
+        Pageable pageable = KeysetPages.probe(size);
+        List<CardTransaction> rows;
+        if (cursor == null || cursor.isBlank()) {
+            rows = cardTransactionRepository.findLatest(card.getId(), pageable);
+        } else {
+            String[] key = CursorCodec.decode(cursor, 2);
+            rows = cardTransactionRepository.findBefore(card.getId(),
+                    CursorCodec.parseInstant(key[0]), CursorCodec.parseLong(key[1]), pageable);
+        }
+
+        return KeysetPages.toPage(rows, size,
+                last -> CursorCodec.encode(last.getCreatedAt(), last.getId()),
+                cardMapper::toTransactionResponse);
+    }
+
+    private CardAccessView ownedCard(String cardNumber, String email) {
+        CardAccessView card = cardRepository.findAccessByCardNumber(cardNumber)
+                .orElseThrow(() -> new NotFoundException("CARD_NOT_FOUND"));
+
+        if (!card.getOwnerEmail().equals(email)) {
+            log.warn("Access denied to card={} user={}", cardNumber, email);
+            throw new AccessDeniedException("CARD_DOES_NOT_BELONG_TO_USER");
+        }
+        return card;
+    }
 
-        if (!cardFrom.getUser().getId().equals(user.getId())
-                || !cardTo.getUser().getId().equals(user.getId())) {
+    private CardAccessView accessOf(CardEntity card, Map<String, String> ownerEmails) {
+        return new CardAccessView(card.getId(), card.getCardNumber(), card.getCardStatus(),
+                card.getBalance(), ownerEmails.get(card.getCardNumber()));
+    }
+
+    private List<CardTransaction> ledgerEntries(Long cardFromId, Long cardToId, BigDecimal amount, Instant now) {
+        UUID transferId = UUID.randomUUID();
+        return List.of(
+                new CardTransaction(null, transferId, cardFromId, cardToId, LedgerEntryType.DEBIT, amount, now),
+                new CardTransaction(null, transferId, cardToId, cardFromId, LedgerEntryType.CREDIT, amount, now)
+        );
+    }
+
+    // Matches the microsecond precision of the timestamp column so cursors compare exactly.
+    private Instant now() {
+        return Instant.now().truncatedTo(ChronoUnit.MICROS);
+    }
+
+    private void validateAmount(BigDecimal amount, String email) {
+        if (amount == null || amount.signum() <= 0) {
+            log.warn("Invalid transfer amount={} user={}", amount, email);
+            throw new InvalidRequestException("INVALID_AMOUNT");
+        }
+    }
+
+    private void validateTransfer(String email,
+                                  CardAccessView cardFrom,
+                                  CardAccessView cardTo,
+                                  BigDecimal amount) {
+        if (!cardFrom.getOwnerEmail().equals(email)
+                || !cardTo.getOwnerEmail().equals(email)) {
             log.warn("Unauthorized transfer attempt by user={}", email);
             throw new AccessDeniedException("CARD_DOES_NOT_BELONG_TO_USER");
         }
@@ -109,33 +297,36 @@ public class UserServiceImpl implements UserService {
         if (cardFrom.getBalance().compareTo(amount) < 0) {
             throw new UnsufficientBalanceException("UNSUFFICIENT_BALANCE");
         }
+    }
 
-        cardFrom.setBalance(cardFrom.getBalance().subtract(amount));
-        cardTo.setBalance(cardTo.getBalance().add(amount));
+    private void debit(CardAccessView card, BigDecimal amount) {
+        if (cardRepository.debit(card.getId(), amount) == 0) {
+            log.warn("Debit rejected by balance/status guard: cardId={}", card.getId());
+            throw new UnsufficientBalanceException("UNSUFFICIENT_BALANCE");
+        }
+    }
 
-        log.info("Transaction successful");
+    private void credit(CardAccessView card, BigDecimal amount) {
+        if (cardRepository.credit(card.getId(), amount) == 0) {
+            log.warn("Credit rejected by status guard: cardId={}", card.getId());
+            throw new CardInactiveException("CARD_NOT_ACTIVE");
+        }
     }
 
-    @Transactional
     public void requestBlockCard(Authentication authentication, String cardNumber) {
+        retryExecutor.run("requestBlockCard", () -> blockOwnCard(authentication, cardNumber));
+    }
+
+    private void blockOwnCard(Authentication authentication, String cardNumber) {
         String email = authentication.getName();
         log.info("Block card request: card={} user={}", cardNumber, email);
 
-        CardEntity card = cardRepository.findByCardNumber(cardNumber)
-                .orElseThrow(() -> new NotFoundException("CARD_NOT_FOUND"));
-
-        UserEntity user = userRepository.findByEmail(email)
-                .orElseThrow(() -> new NotFoundException("USER_NOT_FOUND"));
+        CardAccessView card = ownedCard(cardNumber, email);
 
-        if (!card.getUser().getId().equals(user.getId())) {
-            throw new AccessDeniedException("CARD_DOES_NOT_BELONG_TO_USER");
-        }
-
-        if (card.getCardStatus() != CardStatus.ACTIVE) {
+        if (card.getCardStatus() != CardStatus.ACTIVE || cardRepository.block(card.getId()) == 0) {
             throw new CardInactiveException("CARD_NOT_ACTIVE");
         }
 
-        card.setCardStatus(CardStatus.BLOCKED);
         log.info("Card blocked: {}", cardNumber);
     }
 }
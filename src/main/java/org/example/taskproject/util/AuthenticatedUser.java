@@ -0,0 +1,17 @@
+package org.example.taskproject.util;
+
+import java.security.Principal;
+import java.util.List;
+
+/**
+ * Principal set by {@link JwtAuthenticationFilter} from the token claims, so services can use the
+ * caller's id without reloading the user. {@link #getName()} is the email, which keeps
+ * {@code Authentication.getName()} unchanged for existing callers.
+ */
+public record AuthenticatedUser(Long id, String email, String status, List<String> roles) implements Principal {
+
+    @Override
+    public String getName() {
+        return email;
+    }
+}
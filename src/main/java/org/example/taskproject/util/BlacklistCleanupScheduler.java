@@ -11,9 +11,14 @@ import java.time.Instant;
 public class BlacklistCleanupScheduler {
     private final BlacklistedTokenServiceImpl blacklistService;
 
-    @Scheduled(fixedRate = 1000 * 60 * 60)
+    @Scheduled(cron = "0 0 * * * *", zone = "UTC")
     public void cleanupExpiredTokens() {
         System.out.println("Running blacklist cleanup at " + Instant.now());
         blacklistService.cleanup();
     }
+
+    @Scheduled(fixedDelayString = "${security.blacklist.sync-interval-ms:10000}")
+    public void syncBlacklistedTokens() {
+        blacklistService.sync();
+    }
 }
@@ -0,0 +1,113 @@
+package org.example.taskproject.util;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import java.lang.management.ManagementFactory;
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Lets a scheduled job run on one node per window. Windows are {@code hold} long and aligned to the
+ * epoch on the database clock, so hourly and daily holds line up with UTC hours and days; give the
+ * job a UTC cron firing once per window. The first node to claim the job's row in
+ * {@code scheduler_locks} holds it until its window ends and keeps it after finishing, so replicas
+ * firing later in the same window skip. A run fired up to half a window before a boundary counts
+ * for the window starting there, so a node whose clock runs ahead of the database neither runs the
+ * old window twice nor loses the new one. A failed run releases the row so the next window is
+ * claimed normally; a crashed node's claim simply lapses.
+ */
+@Slf4j
+@Component
+public class ClusterJobLock {
+
+    private static final String ACQUIRE = """
+            WITH w AS (
+                SELECT make_interval(secs => ?) AS hold
+            ), win AS (
+                SELECT date_bin(w.hold, now() + w.hold / 2, timestamptz 'epoch') AS start, w.hold FROM w
+            )
+            INSERT INTO scheduler_locks (name, lock_until, locked_at, locked_by)
+            SELECT ?, win.start + win.hold, now(), ? FROM win
+            ON CONFLICT (name) DO UPDATE SET
+                lock_until = EXCLUDED.lock_until,
+                locked_at = EXCLUDED.locked_at,
+                locked_by = EXCLUDED.locked_by
+            WHERE scheduler_locks.lock_until <= EXCLUDED.lock_until - make_interval(secs => ?)
+            """;
+
+    private final JdbcTemplate jdbcTemplate;
+    private final MeterRegistry meterRegistry;
+    private final String nodeId;
+    private final Map<String, AtomicLong> lastSuccess = new ConcurrentHashMap<>();
+
+    @Autowired
+    public ClusterJobLock(JdbcTemplate jdbcTemplate, MeterRegistry meterRegistry) {
+        this(jdbcTemplate, meterRegistry, ManagementFactory.getRuntimeMXBean().getName());
+    }
+
+    public ClusterJobLock(JdbcTemplate jdbcTemplate, MeterRegistry meterRegistry, String nodeId) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.meterRegistry = meterRegistry;
+        this.nodeId = nodeId;
+    }
+
+    /**
+     * @return true if this node ran the job, false if another node holds the window
+     */
+    public boolean run(String job, Duration hold, Runnable task) {
+        long waitStarted = System.nanoTime();
+        double holdSeconds = hold.toMillis() / 1000.0;
+        int claimed = jdbcTemplate.update(ACQUIRE, holdSeconds, job, nodeId, holdSeconds);
+        Timer.builder("scheduler.job.lock.wait").tag("job", job).register(meterRegistry)
+                .record(System.nanoTime() - waitStarted, TimeUnit.NANOSECONDS);
+
+        if (claimed == 0) {
+            log.debug("Scheduled job skipped, held by another node: job={}", job);
+            meterRegistry.counter("scheduler.job.skipped", "job", job).increment();
+            return false;
+        }
+
+        long started = System.nanoTime();
+        try {
+            task.run();
+        } catch (RuntimeException e) {
+            record(job, "failure", started);
+            jdbcTemplate.update("UPDATE scheduler_locks SET lock_until = '-infinity' WHERE name = ? AND locked_by = ?",
+                    job, nodeId);
+            log.warn("Scheduled job failed, lock released: job={}, cause={}", job, e.getMessage());
+            throw e;
+        }
+
+        record(job, "success", started);
+        jdbcTemplate.update("UPDATE scheduler_locks SET last_success_at = now() WHERE name = ?", job);
+        lastSuccessGauge(job).set(System.currentTimeMillis() / 1000);
+        log.info("Scheduled job completed: job={}, node={}, durationMs={}",
+                job, nodeId, TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - started));
+        return true;
+    }
+
+    private void record(String job, String outcome, long started) {
+        Timer.builder("scheduler.job.duration").tags("job", job, "outcome", outcome).register(meterRegistry)
+                .record(System.nanoTime() - started, TimeUnit.NANOSECONDS);
+    }
+
+    private AtomicLong lastSuccessGauge(String job) {
+        return lastSuccess.computeIfAbsent(job, name -> {
+            AtomicLong value = new AtomicLong();
+            Gauge.builder("scheduler.job.last.success", value, AtomicLong::get)
+                    .tag("job", name)
+                    .baseUnit("seconds")
+                    .register(meterRegistry);
+            return value;
+        });
+    }
+}
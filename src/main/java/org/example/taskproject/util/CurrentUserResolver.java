@@ -0,0 +1,44 @@
+package org.example.taskproject.util;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.example.taskproject.exception.NotFoundException;
+import org.example.taskproject.repository.UserRepository;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.stereotype.Component;
+
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class CurrentUserResolver {
+
+    private final UserRepository userRepository;
+
+    public AuthenticatedUser current() {
+        return resolve(SecurityContextHolder.getContext().getAuthentication());
+    }
+
+    /**
+     * Returns the principal built by the JWT filter. Authentications created elsewhere (tests,
+     * internal callers) fall back to a lookup by name.
+     */
+    public AuthenticatedUser resolve(Authentication authentication) {
+        if (authentication == null) {
+            throw new NotFoundException("USER_NOT_FOUND");
+        }
+
+        if (authentication.getPrincipal() instanceof AuthenticatedUser user) {
+            return user;
+        }
+
+        String email = authentication.getName();
+        return userRepository.findWithRolesByEmail(email)
+                .map(user -> new AuthenticatedUser(user.getId(), user.getEmail(), user.getUserStatus().name(),
+                        user.getRoles().stream().map(role -> role.getName().name()).toList()))
+                .orElseThrow(() -> {
+                    log.warn("User not found: {}", email);
+                    return new NotFoundException("USER_NOT_FOUND");
+                });
+    }
+}
@@ -0,0 +1,214 @@
+package org.example.taskproject.util;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.example.taskproject.entity.EmailOutbox;
+import org.example.taskproject.repository.EmailOutboxRepository;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.mail.MailException;
+import org.springframework.mail.MailSendException;
+import org.springframework.mail.SimpleMailMessage;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Delivers queued emails. A batch is claimed with FOR UPDATE SKIP LOCKED and leased by pushing
+ * next_attempt_at forward, then split into micro-batches that are sent outside any transaction
+ * over pooled SMTP sessions on a fixed pool of sender threads.
+ * Rows from a crashed node become due again once their lease expires. Rows past their expiry are
+ * marked EXPIRED instead of being sent or retried, and finished rows have their body blanked and are
+ * purged after the retention period whatever their outcome.
+ */
+@Slf4j
+@Component
+public class EmailOutboxDispatcher {
+
+    private final EmailOutboxRepository repository;
+    private final SmtpTransportPool transportPool;
+    private final TransactionTemplate transactionTemplate;
+    private final MeterRegistry meterRegistry;
+    private final ExecutorService senders;
+    private final AtomicInteger queueDepth = new AtomicInteger();
+    private final int batchSize;
+    private final int microBatchSize;
+    private final int maxAttempts;
+    private final Duration lease;
+    private final Duration baseBackoff;
+    private final Duration maxBackoff;
+    private final Duration retention;
+
+    public EmailOutboxDispatcher(EmailOutboxRepository repository,
+                                 SmtpTransportPool transportPool,
+                                 PlatformTransactionManager transactionManager,
+                                 MeterRegistry meterRegistry,
+                                 @Value("${email.outbox.batch-size:50}") int batchSize,
+                                 @Value("${email.outbox.concurrency:4}") int concurrency,
+                                 @Value("${email.outbox.micro-batch-size:10}") int microBatchSize,
+                                 @Value("${email.outbox.max-attempts:6}") int maxAttempts,
+                                 @Value("${email.outbox.lease-ms:300000}") long leaseMs,
+                                 @Value("${email.outbox.base-backoff-ms:2000}") long baseBackoffMs,
+                                 @Value("${email.outbox.max-backoff-ms:300000}") long maxBackoffMs,
+                                 @Value("${email.outbox.retention-hours:24}") long retentionHours) {
+        this.repository = repository;
+        this.transportPool = transportPool;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.meterRegistry = meterRegistry;
+        this.batchSize = batchSize;
+        this.microBatchSize = Math.max(1, microBatchSize);
+        this.maxAttempts = maxAttempts;
+        this.lease = Duration.ofMillis(leaseMs);
+        this.baseBackoff = Duration.ofMillis(baseBackoffMs);
+        this.maxBackoff = Duration.ofMillis(maxBackoffMs);
+        this.retention = Duration.ofHours(retentionHours);
+
+        AtomicInteger threadNumber = new AtomicInteger();
+        this.senders = Executors.newFixedThreadPool(concurrency, runnable -> {
+            Thread thread = new Thread(runnable, "email-sender-" + threadNumber.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+        meterRegistry.gauge("email.queue.depth", queueDepth);
+    }
+
+    @Scheduled(fixedDelayString = "${email.outbox.poll-interval-ms:1000}")
+    public void dispatch() {
+        List<EmailOutbox> batch = claim();
+        if (batch.isEmpty()) {
+            return;
+        }
+
+        log.debug("Dispatching outbox batch: size={}", batch.size());
+        queueDepth.addAndGet(batch.size());
+
+        List<CompletableFuture<Void>> sends = new ArrayList<>();
+        for (int from = 0; from < batch.size(); from += microBatchSize) {
+            List<EmailOutbox> microBatch = batch.subList(from, Math.min(from + microBatchSize, batch.size()));
+            sends.add(CompletableFuture.runAsync(() -> deliver(microBatch), senders));
+        }
+        CompletableFuture.allOf(sends.toArray(CompletableFuture[]::new)).join();
+    }
+
+    @Scheduled(fixedRate = 60 * 60 * 1000)
+    public void purgeFinished() {
+        int deleted = repository.deleteFinishedBefore(Instant.now().minus(retention));
+        log.info("Purged finished outbox emails: count={}", deleted);
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        senders.shutdown();
+    }
+
+    private List<EmailOutbox> claim() {
+        return transactionTemplate.execute(status -> {
+            Instant now = Instant.now();
+            List<EmailOutbox> due = repository.claimDue(now, batchSize);
+            List<Long> expired = due.stream().filter(email -> email.isExpiredAt(now)).map(EmailOutbox::getId).toList();
+            if (!expired.isEmpty()) {
+                repository.markExpired(expired);
+                meterRegistry.counter("email.expired").increment(expired.size());
+                log.info("Outbox emails expired before sending: count={}", expired.size());
+            }
+
+            List<EmailOutbox> live = due.stream().filter(email -> !email.isExpiredAt(now)).toList();
+            live.forEach(email -> email.setNextAttemptAt(now.plus(lease)));
+            return live;
+        });
+    }
+
+    private void deliver(List<EmailOutbox> emails) {
+        SimpleMailMessage[] messages = new SimpleMailMessage[emails.size()];
+        for (int i = 0; i < messages.length; i++) {
+            EmailOutbox email = emails.get(i);
+            messages[i] = new SimpleMailMessage();
+            messages[i].setTo(email.getRecipient());
+            messages[i].setSubject(email.getSubject());
+            messages[i].setText(email.getBody());
+        }
+
+        Map<Object, Exception> failed = Map.of();
+        Timer.Sample sample = Timer.start(meterRegistry);
+        try {
+            transportPool.send(messages);
+        } catch (MailSendException e) {
+            failed = e.getFailedMessages().isEmpty() ? allFailed(messages, e) : e.getFailedMessages();
+        } catch (MailException e) {
+            failed = allFailed(messages, e);
+        } finally {
+            sample.stop(meterRegistry.timer("email.send.latency", "outcome", failed.isEmpty() ? "sent" : "failed"));
+            queueDepth.addAndGet(-emails.size());
+        }
+
+        List<Long> sent = new ArrayList<>();
+        for (int i = 0; i < messages.length; i++) {
+            Exception error = failed.get(messages[i]);
+            if (error == null) {
+                sent.add(emails.get(i).getId());
+            } else {
+                handleFailure(emails.get(i), error);
+            }
+        }
+
+        if (!sent.isEmpty()) {
+            repository.markSent(sent, Instant.now());
+            meterRegistry.counter("email.sent").increment(sent.size());
+            log.info("Outbox emails sent: count={}", sent.size());
+        }
+    }
+
+    private void handleFailure(EmailOutbox email, Exception cause) {
+        int attempt = email.getAttempts() + 1;
+        String error = truncate(cause.getMessage());
+        Instant next = Instant.now().plus(backoff(attempt));
+        if (email.isExpiredAt(next)) {
+            repository.markExpired(List.of(email.getId()));
+            meterRegistry.counter("email.send.failures", "outcome", "expired").increment();
+            log.warn("Outbox email send failed, code expires before next attempt: id={}, attempt={}, cause={}",
+                    email.getId(), attempt, error);
+        } else if (attempt >= maxAttempts) {
+            repository.markFailed(email.getId(), error);
+            meterRegistry.counter("email.send.failures", "outcome", "failed").increment();
+            log.error("Outbox email failed permanently: id={}, attempts={}, cause={}", email.getId(), attempt, error);
+        } else {
+            repository.markRetry(email.getId(), next, error);
+            meterRegistry.counter("email.send.failures", "outcome", "retry").increment();
+            log.warn("Outbox email send failed, will retry: id={}, attempt={}, next={}", email.getId(), attempt, next);
+        }
+    }
+
+    private static Map<Object, Exception> allFailed(SimpleMailMessage[] messages, Exception cause) {
+        Map<Object, Exception> failed = new IdentityHashMap<>();
+        for (SimpleMailMessage message : messages) {
+            failed.put(message, cause);
+        }
+        return failed;
+    }
+
+    private Duration backoff(int attempt) {
+        long ceiling = Math.min(maxBackoff.toMillis(), baseBackoff.toMillis() << Math.min(attempt - 1, 20));
+        return Duration.ofMillis(ceiling / 2 + ThreadLocalRandom.current().nextLong(ceiling / 2 + 1));
+    }
+
+    private static String truncate(String message) {
+        if (message == null) {
+            return null;
+        }
+        return message.length() <= 500 ? message : message.substring(0, 500);
+    }
+}
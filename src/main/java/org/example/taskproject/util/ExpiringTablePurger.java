@@ -0,0 +1,193 @@
+package org.example.taskproject.util;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.sql.Timestamp;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.time.format.DateTimeParseException;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Retention for the short-lived tables (otps, reset_tokens, blacklisted_tokens). When a table is
+ * range-partitioned by day on its expiry column, fully expired days are detached concurrently and
+ * then dropped, so writers to the parent are never blocked. Otherwise expired rows are deleted in
+ * ctid chunks, each in its own short transaction, so a large backlog never holds long locks.
+ * Must be called outside a transaction: DETACH ... CONCURRENTLY cannot run inside one.
+ */
+@Slf4j
+@Component
+public class ExpiringTablePurger {
+
+    private static final Map<String, String> EXPIRY_COLUMNS = Map.of(
+            "otps", "expiry_time",
+            "reset_tokens", "expiry_date",
+            "blacklisted_tokens", "expiry_date"
+    );
+    private static final DateTimeFormatter SUFFIX = DateTimeFormatter.ofPattern("yyyyMMdd");
+    // The partitions cron fires once a day.
+    private static final Duration PARTITIONS_LOCK_HOLD = Duration.ofDays(1);
+
+    private final JdbcTemplate jdbcTemplate;
+    private final MeterRegistry meterRegistry;
+    private final ClusterJobLock jobLock;
+    private final Clock clock;
+    private final int daysAhead;
+    private final int chunkSize;
+
+    @Autowired
+    public ExpiringTablePurger(JdbcTemplate jdbcTemplate,
+                               MeterRegistry meterRegistry,
+                               ClusterJobLock jobLock,
+                               @Value("${retention.partitions.days-ahead:7}") int daysAhead,
+                               @Value("${retention.chunk-size:5000}") int chunkSize) {
+        this(jdbcTemplate, meterRegistry, jobLock, Clock.systemDefaultZone(), daysAhead, chunkSize);
+    }
+
+    public ExpiringTablePurger(JdbcTemplate jdbcTemplate, MeterRegistry meterRegistry, ClusterJobLock jobLock,
+                               Clock clock, int daysAhead, int chunkSize) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.meterRegistry = meterRegistry;
+        this.jobLock = jobLock;
+        this.clock = clock;
+        this.daysAhead = daysAhead;
+        this.chunkSize = chunkSize;
+    }
+
+    /** For dropped partitions {@code rows} is the planner estimate from pg_class, not a count. */
+    public record PurgeResult(String table, long rows, int partitionsDropped, long durationMs) {
+    }
+
+    @Scheduled(cron = "${retention.partitions.cron:0 15 3 * * *}", zone = "UTC")
+    public void maintainPartitions() {
+        jobLock.run("retention-partitions", PARTITIONS_LOCK_HOLD, this::ensurePartitions);
+    }
+
+    /** Also runs on every node at startup, unlocked, so a fresh database has today's partitions. */
+    @EventListener(ApplicationReadyEvent.class)
+    public void ensurePartitions() {
+        LocalDate today = LocalDate.now(clock);
+        for (String table : EXPIRY_COLUMNS.keySet()) {
+            if (!isPartitioned(table)) {
+                continue;
+            }
+            for (int i = 0; i <= daysAhead; i++) {
+                createDay(table, today.plusDays(i));
+            }
+        }
+    }
+
+    public PurgeResult purge(String table) {
+        String column = EXPIRY_COLUMNS.get(table);
+        if (column == null) {
+            throw new IllegalArgumentException("Unsupported table: " + table);
+        }
+
+        long started = System.nanoTime();
+        LocalDateTime cutoff = LocalDateTime.now(clock);
+        long rows = 0;
+        int dropped = 0;
+
+        if (isPartitioned(table)) {
+            for (Map<String, Object> partition : partitionsOf(table)) {
+                String name = (String) partition.get("relname");
+                LocalDate day = dayOf(table, name);
+                if (day != null && !day.plusDays(1).atStartOfDay().isAfter(cutoff)) {
+                    rows += dropPartition(table, name, Boolean.TRUE.equals(partition.get("inhdetachpending")));
+                    dropped++;
+                }
+            }
+        } else {
+            rows += deleteInChunks(table, column, cutoff);
+        }
+
+        long durationNanos = System.nanoTime() - started;
+        Timer.builder("retention.duration").tag("table", table).register(meterRegistry)
+                .record(durationNanos, TimeUnit.NANOSECONDS);
+        meterRegistry.counter("retention.rows.purged", "table", table).increment(rows);
+        meterRegistry.counter("retention.partitions.dropped", "table", table).increment(dropped);
+
+        PurgeResult result = new PurgeResult(table, rows, dropped, TimeUnit.NANOSECONDS.toMillis(durationNanos));
+        log.info("Retention run complete: table={}, rows={}, partitionsDropped={}, durationMs={}",
+                table, rows, dropped, result.durationMs());
+        return result;
+    }
+
+    private boolean isPartitioned(String table) {
+        try {
+            return Boolean.TRUE.equals(jdbcTemplate.queryForObject(
+                    "SELECT EXISTS (SELECT 1 FROM pg_partitioned_table p JOIN pg_class c ON c.oid = p.partrelid"
+                            + " WHERE c.relname = ?)", Boolean.class, table));
+        } catch (DataAccessException e) {
+            log.debug("Partition catalog unavailable, treating table as plain: table={}", table);
+            return false;
+        }
+    }
+
+    private List<Map<String, Object>> partitionsOf(String table) {
+        return jdbcTemplate.queryForList(
+                "SELECT c.relname, i.inhdetachpending FROM pg_inherits i JOIN pg_class c ON c.oid = i.inhrelid"
+                        + " JOIN pg_class p ON p.oid = i.inhparent WHERE p.relname = ?", table);
+    }
+
+    private LocalDate dayOf(String table, String partition) {
+        String prefix = table + "_p";
+        if (!partition.startsWith(prefix)) {
+            return null;
+        }
+        try {
+            return LocalDate.parse(partition.substring(prefix.length()), SUFFIX);
+        } catch (DateTimeParseException e) {
+            return null;
+        }
+    }
+
+    private long dropPartition(String table, String partition, boolean detachPending) {
+        // reltuples is -1 until the partition has been vacuumed or analyzed.
+        Long rows = jdbcTemplate.queryForObject(
+                "SELECT GREATEST(reltuples, 0)::bigint FROM pg_class WHERE relname = ?", Long.class, partition);
+        // A detach interrupted on an earlier run leaves the partition pending and must be finalized.
+        jdbcTemplate.execute("ALTER TABLE " + table + " DETACH PARTITION " + partition
+                + (detachPending ? " FINALIZE" : " CONCURRENTLY"));
+        jdbcTemplate.execute("DROP TABLE IF EXISTS " + partition);
+        return rows == null ? 0 : rows;
+    }
+
+    private long deleteInChunks(String relation, String column, LocalDateTime cutoff) {
+        String sql = "DELETE FROM " + relation + " WHERE ctid IN (SELECT ctid FROM " + relation
+                + " WHERE " + column + " < ? LIMIT ?)";
+        long total = 0;
+        int deleted;
+        do {
+            deleted = jdbcTemplate.update(sql, Timestamp.valueOf(cutoff), chunkSize);
+            total += deleted;
+        } while (deleted >= chunkSize);
+        return total;
+    }
+
+    private void createDay(String table, LocalDate day) {
+        String partition = table + "_p" + day.format(SUFFIX);
+        String sql = "CREATE TABLE IF NOT EXISTS " + partition + " PARTITION OF " + table
+                + " FOR VALUES FROM ('" + day + "') TO ('" + day.plusDays(1) + "')";
+        try {
+            jdbcTemplate.execute(sql);
+        } catch (DataAccessException e) {
+            log.error("Failed to create retention partition, inserts for that day will fail: partition={}, cause={}", partition, e.getMessage());
+        }
+    }
+}
@@ -0,0 +1,106 @@
+package org.example.taskproject.util;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.example.taskproject.enums.OtpCheckResult;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.function.LongSupplier;
+
+/**
+ * Single-node OTP store, enabled with {@code otp.store.mode=memory}. Codes live in a concurrent map
+ * keyed by email; verification swaps the entry for a used copy with a compare-and-replace, so only
+ * one caller can win. Expiry is driven by a hashed timer wheel: each code is filed under the tick it
+ * expires in, and every tick only the matching slot is swept instead of the whole map. Codes are
+ * per node, so it only suits a single node or sticky sessions.
+ */
+@Component
+@ConditionalOnProperty(name = "otp.store.mode", havingValue = "memory")
+public class InMemoryOtpStore implements OtpStore {
+
+    private final ConcurrentHashMap<String, Entry> codes = new ConcurrentHashMap<>();
+    private final Queue<Deadline>[] wheel;
+    private final LongSupplier clock;
+    private final long tickMs;
+    private long cursor;
+
+    @Autowired
+    public InMemoryOtpStore(MeterRegistry meterRegistry,
+                            @Value("${otp.store.tick-ms:1000}") long tickMs,
+                            @Value("${otp.store.wheel-size:512}") int wheelSize) {
+        this(System::currentTimeMillis, tickMs, wheelSize);
+        Gauge.builder("otp.store.size", codes, ConcurrentHashMap::size).register(meterRegistry);
+    }
+
+    @SuppressWarnings("unchecked")
+    public InMemoryOtpStore(LongSupplier clock, long tickMs, int wheelSize) {
+        this.clock = clock;
+        this.tickMs = tickMs;
+        this.wheel = new Queue[wheelSize];
+        for (int i = 0; i < wheelSize; i++) {
+            wheel[i] = new ConcurrentLinkedQueue<>();
+        }
+        this.cursor = clock.getAsLong() / tickMs;
+    }
+
+    @Override
+    public void put(String email, String code, Duration ttl) {
+        long expiresAt = clock.getAsLong() + ttl.toMillis();
+        codes.put(email, new Entry(code, expiresAt, false));
+
+        long dueTick = (expiresAt + tickMs - 1) / tickMs;
+        wheel[(int) (dueTick % wheel.length)].add(new Deadline(email, dueTick));
+    }
+
+    @Override
+    public OtpCheckResult consume(String email, String code) {
+        Entry entry = codes.get(email);
+        if (entry == null) {
+            return OtpCheckResult.NOT_FOUND;
+        }
+
+        if (entry.used() || entry.expiresAt() <= clock.getAsLong() || !entry.code().equals(code)) {
+            return OtpCheckResult.REJECTED;
+        }
+
+        return codes.replace(email, entry, new Entry(entry.code(), entry.expiresAt(), true))
+                ? OtpCheckResult.VERIFIED
+                : OtpCheckResult.REJECTED;
+    }
+
+    @Scheduled(fixedRateString = "${otp.store.tick-ms:1000}")
+    public synchronized void advance() {
+        long nowMs = clock.getAsLong();
+        long now = nowMs / tickMs;
+        long from = Math.max(cursor + 1, now - wheel.length + 1);
+
+        for (long tick = from; tick <= now; tick++) {
+            wheel[(int) (tick % wheel.length)].removeIf(deadline -> {
+                if (deadline.dueTick() > now) {
+                    return false;
+                }
+                codes.computeIfPresent(deadline.email(), (email, entry) -> entry.expiresAt() <= nowMs ? null : entry);
+                return true;
+            });
+        }
+        cursor = now;
+    }
+
+    public int size() {
+        return codes.size();
+    }
+
+    private record Entry(String code, long expiresAt, boolean used) {
+    }
+
+    private record Deadline(String email, long dueTick) {
+    }
+}
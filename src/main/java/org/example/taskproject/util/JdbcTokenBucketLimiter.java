@@ -0,0 +1,64 @@
+package org.example.taskproject.util;
+
+import lombok.extern.slf4j.Slf4j;
+import org.example.taskproject.config.RateLimitProperties;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+/**
+ * Token buckets shared by all nodes. Refill, take and the allow decision happen in one
+ * INSERT ... ON CONFLICT DO UPDATE, so the row lock serialises concurrent requests for a key
+ * without an explicit transaction. If the database is unavailable the limiter fails open.
+ */
+@Slf4j
+@Component
+@ConditionalOnProperty(name = "rate-limit.mode", havingValue = "shared")
+public class JdbcTokenBucketLimiter implements RateLimiter {
+
+    private static final String REFILLED =
+            "LEAST(:capacity, b.tokens + EXTRACT(EPOCH FROM (now() - b.updated_at)) * :rate)";
+
+    private static final String ACQUIRE = """
+            INSERT INTO rate_limit_buckets AS b (bucket_key, tokens, allowed, updated_at)
+            VALUES (:key, :capacity - 1, true, now())
+            ON CONFLICT (bucket_key) DO UPDATE SET
+                tokens = CASE WHEN %1$s >= 1 THEN %1$s - 1 ELSE %1$s END,
+                allowed = %1$s >= 1,
+                updated_at = now()
+            RETURNING allowed
+            """.formatted(REFILLED);
+
+    private final NamedParameterJdbcTemplate jdbcTemplate;
+    private final long idleEvictionMs;
+
+    public JdbcTokenBucketLimiter(NamedParameterJdbcTemplate jdbcTemplate, RateLimitProperties properties) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.idleEvictionMs = properties.getIdleEvictionMs();
+    }
+
+    @Override
+    public boolean tryAcquire(String key, int capacity, double refillPerSecond) {
+        MapSqlParameterSource params = new MapSqlParameterSource()
+                .addValue("key", key)
+                .addValue("capacity", capacity)
+                .addValue("rate", refillPerSecond);
+        try {
+            return Boolean.TRUE.equals(jdbcTemplate.queryForObject(ACQUIRE, params, Boolean.class));
+        } catch (DataAccessException e) {
+            log.warn("Shared rate limiter unavailable, allowing request: key={}, cause={}", key, e.getMessage());
+            return true;
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${rate-limit.idle-eviction-ms:600000}")
+    public void evictIdle() {
+        int deleted = jdbcTemplate.update(
+                "DELETE FROM rate_limit_buckets WHERE updated_at < now() - make_interval(secs => :seconds)",
+                new MapSqlParameterSource("seconds", idleEvictionMs / 1000.0));
+        log.debug("Evicted idle rate limit buckets: count={}", deleted);
+    }
+}
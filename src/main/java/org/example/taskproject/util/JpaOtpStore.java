@@ -0,0 +1,53 @@
+package org.example.taskproject.util;
+
+import lombok.RequiredArgsConstructor;
+import org.example.taskproject.entity.Otp;
+import org.example.taskproject.enums.OtpCheckResult;
+import org.example.taskproject.repository.OtpRepository;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.Optional;
+
+/**
+ * Default OTP store, backed by the {@code otps} table. Survives restarts and is shared by all nodes.
+ * Issuing a code retires the previous unused ones, so only the latest row per email is live.
+ * Issuing and verification read through {@code idx_otps_email_expiry}; consuming updates the row
+ * by primary key.
+ */
+@Component
+@RequiredArgsConstructor
+@ConditionalOnProperty(name = "otp.store.mode", havingValue = "jpa", matchIfMissing = true)
+public class JpaOtpStore implements OtpStore {
+
+    private final OtpRepository otpRepository;
+
+    @Override
+    @Transactional
+    public void put(String email, String code, Duration ttl) {
+        otpRepository.markUnusedAsUsed(email);
+        otpRepository.save(new Otp(null, email, code, LocalDateTime.now().plus(ttl), false));
+    }
+
+    @Override
+    @Transactional
+    public OtpCheckResult consume(String email, String code) {
+        Optional<Otp> latest = otpRepository.findFirstByEmailOrderByExpiryTimeDesc(email);
+        if (latest.isEmpty()) {
+            return OtpCheckResult.NOT_FOUND;
+        }
+
+        Otp otp = latest.get();
+        if (otp.isUsed() || !otp.getCode().equals(code) || !otp.getExpiryTime().isAfter(LocalDateTime.now())) {
+            return OtpCheckResult.REJECTED;
+        }
+
+        // Only the caller whose update flips the flag wins; a concurrent verify sees 0 rows.
+        return otpRepository.markUsed(otp.getId(), otp.getExpiryTime()) == 1
+                ? OtpCheckResult.VERIFIED
+                : OtpCheckResult.REJECTED;
+    }
+}
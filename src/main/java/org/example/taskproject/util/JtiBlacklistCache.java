@@ -0,0 +1,74 @@
+package org.example.taskproject.util;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Instant;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Local tier of the token blacklist: a Bloom filter in front of an expiring jti set.
+ * A negative filter answer is final; a positive one is confirmed against the set or the database.
+ */
+@Component
+public class JtiBlacklistCache {
+
+    private final double falsePositiveRate;
+    private final int minCapacity;
+    private final Map<String, Instant> entries = new ConcurrentHashMap<>();
+    private volatile BloomFilter filter;
+    private volatile boolean warm;
+
+    public JtiBlacklistCache(@Value("${security.blacklist.bloom.fpp:0.001}") double falsePositiveRate,
+                             @Value("${security.blacklist.bloom.min-capacity:10000}") int minCapacity) {
+        this.falsePositiveRate = falsePositiveRate;
+        this.minCapacity = minCapacity;
+        this.filter = new BloomFilter(minCapacity, falsePositiveRate);
+    }
+
+    public synchronized void warmUp(Map<String, Instant> tokens, long expectedSize) {
+        entries.putAll(tokens);
+        rebuild(Math.max(expectedSize, entries.size()));
+        warm = true;
+    }
+
+    public synchronized void put(String jti, Instant expiry) {
+        entries.put(jti, expiry);
+        if (entries.size() > filter.getCapacity()) {
+            rebuild(entries.size());
+        } else {
+            filter.put(jti);
+        }
+    }
+
+    public boolean isWarm() {
+        return warm;
+    }
+
+    public boolean mightContain(String jti) {
+        return filter.mightContain(jti);
+    }
+
+    public boolean contains(String jti, Instant now) {
+        Instant expiry = entries.get(jti);
+        return expiry != null && expiry.isAfter(now);
+    }
+
+    public synchronized int prune(Instant now) {
+        int before = entries.size();
+        entries.values().removeIf(expiry -> !expiry.isAfter(now));
+        rebuild(entries.size());
+        return before - entries.size();
+    }
+
+    public int size() {
+        return entries.size();
+    }
+
+    private void rebuild(long expectedSize) {
+        BloomFilter rebuilt = new BloomFilter(Math.max(minCapacity, expectedSize * 2), falsePositiveRate);
+        entries.keySet().forEach(rebuilt::put);
+        filter = rebuilt;
+    }
+}
@@ -1,20 +1,22 @@
 package org.example.taskproject.util;
 
+import io.jsonwebtoken.JwtException;
 import jakarta.servlet.FilterChain;
 import jakarta.servlet.ServletException;
 import jakarta.servlet.http.HttpServletRequest;
 import jakarta.servlet.http.HttpServletResponse;
 import lombok.RequiredArgsConstructor;
+import org.example.taskproject.enums.UserStatus;
 import org.example.taskproject.service.impl.BlacklistedTokenServiceImpl;
-import org.example.taskproject.service.impl.CustomUserDetailsService;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
 import org.springframework.security.core.context.SecurityContextHolder;
-import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.security.web.authentication.WebAuthenticationDetailsSource;
 import org.springframework.stereotype.Component;
 import org.springframework.web.filter.OncePerRequestFilter;
 
 import java.io.IOException;
+import java.util.List;
 
 
 @Component
@@ -22,7 +24,7 @@ import java.io.IOException;
 public class JwtAuthenticationFilter extends OncePerRequestFilter {
 
     private final JwtUtil jwtUtil;
-    private final CustomUserDetailsService userDetailsService;
+    private final TokenVersionCache tokenVersionCache;
     private final BlacklistedTokenServiceImpl tokenBlacklistService;
 
 
@@ -36,32 +38,50 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
 
         if (authHeader != null && authHeader.startsWith("Bearer ")) {
             String token = authHeader.substring(7);
-            String jti = jwtUtil.getJti(token);
 
+            ParsedToken parsedToken;
+            try {
+                parsedToken = jwtUtil.parse(token);
+            } catch (JwtException | IllegalArgumentException e) {
+                response.setStatus(HttpServletResponse.SC_UNAUTHORIZED);
+                response.getWriter()
+                        .write("Unauthorized: " + e.getMessage());
+                return;
+            }
 
-            if (tokenBlacklistService.isBlacklisted(jti)) {
+            if (tokenBlacklistService.isBlacklisted(parsedToken.jti())) {
                 response.setStatus(HttpServletResponse.SC_UNAUTHORIZED);
                 response.getWriter().write("Unauthorized: Token is blacklisted");
                 return;
             }
 
             try {
-                String username = jwtUtil.getUsernameFromToken(token);
+                String username = parsedToken.subject();
 
                 if (username != null &&
                         SecurityContextHolder.getContext().getAuthentication() == null) {
 
-                    UserDetails userDetails =
-                            userDetailsService.loadUserByUsername(username);
+                    // 2️⃣ Validate token against the current user status and token version
+                    if (UserStatus.ACTIVE.name().equals(parsedToken.status())
+                            && tokenVersionCache.isCurrent(parsedToken.userId(), parsedToken.tokenVersion())) {
 
-                    // 2️⃣ Validate token
-                    if (jwtUtil.isTokenValid(token, userDetails)) {
+                        List<SimpleGrantedAuthority> authorities = parsedToken.roles()
+                                .stream()
+                                .map(role -> new SimpleGrantedAuthority("ROLE_" + role))
+                                .toList();
+
+                        AuthenticatedUser principal = new AuthenticatedUser(
+                                parsedToken.userId(),
+                                username,
+                                parsedToken.status(),
+                                parsedToken.roles()
+                        );
 
                         UsernamePasswordAuthenticationToken authToken =
                                 new UsernamePasswordAuthenticationToken(
-                                        userDetails,
+                                        principal,
                                         null,
-                                        userDetails.getAuthorities()
+                                        authorities
                                 );
 
                         authToken.setDetails(
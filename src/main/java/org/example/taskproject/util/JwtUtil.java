@@ -1,11 +1,13 @@
 package org.example.taskproject.util;
 
+import io.jsonwebtoken.Claims;
 import io.jsonwebtoken.JwtException;
+import io.jsonwebtoken.JwtParser;
 import io.jsonwebtoken.Jwts;
 import io.jsonwebtoken.SignatureAlgorithm;
 import io.jsonwebtoken.security.Keys;
 import jakarta.servlet.http.HttpServletRequest;
-import org.springframework.security.core.userdetails.UserDetails;
+import org.example.taskproject.entity.UserEntity;
 import org.springframework.stereotype.Component;
 
 import java.security.Key;
@@ -20,38 +22,51 @@ public class JwtUtil {
     private static final long EXPIRATION_MS = 1000 * 60 * 60;
     private static final String AUTH_HEADER = "Authorization";
     private static final String BEARER_PREFIX = "Bearer ";
-    private Key getSigningKey() {
-        return Keys.hmacShaKeyFor(SECRET_KEY.getBytes());
-    }
+    static final String USER_ID_CLAIM = "uid";
+    static final String ROLES_CLAIM = "roles";
+    static final String STATUS_CLAIM = "status";
+    static final String VERSION_CLAIM = "ver";
+
+    private final Key signingKey = Keys.hmacShaKeyFor(SECRET_KEY.getBytes());
+    private final JwtParser jwtParser = Jwts.parserBuilder()
+            .setSigningKey(signingKey)
+            .build();
 
 
-    public String generateToken(String username) {
+    public String generateToken(UserEntity user) {
         return Jwts.builder()
-                .setSubject(username)
+                .setSubject(user.getEmail())
                 .setId(UUID.randomUUID().toString())
+                .claim(USER_ID_CLAIM, user.getId())
+                .claim(ROLES_CLAIM, user.getRoles().stream().map(role -> role.getName().name()).toList())
+                .claim(STATUS_CLAIM, user.getUserStatus().name())
+                .claim(VERSION_CLAIM, user.getTokenVersion())
                 .setIssuedAt(new Date())
                 .setExpiration(new Date(System.currentTimeMillis() + EXPIRATION_MS))
-                .signWith(getSigningKey(), SignatureAlgorithm.HS256)
+                .signWith(signingKey, SignatureAlgorithm.HS256)
                 .compact();
     }
 
 
+    public ParsedToken parse(String token) {
+        Claims claims = jwtParser.parseClaimsJws(token).getBody();
+        return new ParsedToken(
+                claims.getId(),
+                claims.getSubject(),
+                claims.getExpiration().toInstant(),
+                claims
+        );
+    }
+
+
     public String getUsernameFromToken(String token) {
-        return Jwts.parserBuilder()
-                .setSigningKey(getSigningKey())
-                .build()
-                .parseClaimsJws(token)
-                .getBody()
-                .getSubject();
+        return parse(token).subject();
     }
 
 
     public boolean validateJwtToken(String token) {
         try {
-            Jwts.parserBuilder()
-                    .setSigningKey(getSigningKey())
-                    .build()
-                    .parseClaimsJws(token);
+            parse(token);
             return true;
         } catch (JwtException | IllegalArgumentException e) {
             System.out.println("JWT validation error: " + e.getMessage());
@@ -60,11 +75,6 @@ public class JwtUtil {
     }
 
 
-    public boolean isTokenValid(String token, UserDetails userDetails) {
-        final String username = getUsernameFromToken(token);
-        return username.equals(userDetails.getUsername()) && validateJwtToken(token);
-    }
-
     public String resolveToken(HttpServletRequest request) {
         String bearerToken = request.getHeader(AUTH_HEADER);
         if (bearerToken != null && bearerToken.startsWith(BEARER_PREFIX)) {
@@ -75,21 +85,10 @@ public class JwtUtil {
 
 
     public String getJti(String token) {
-        return Jwts.parserBuilder()
-                .setSigningKey(SECRET_KEY.getBytes())
-                .build()
-                .parseClaimsJws(token)
-                .getBody()
-                .getId();
+        return parse(token).jti();
     }
 
     public Instant getExpiration(String token) {
-        return Jwts.parserBuilder()
-                .setSigningKey(SECRET_KEY.getBytes())
-                .build()
-                .parseClaimsJws(token)
-                .getBody()
-                .getExpiration()
-                .toInstant();
+        return parse(token).expiration();
     }
 }
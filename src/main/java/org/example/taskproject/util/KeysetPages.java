@@ -0,0 +1,41 @@
+package org.example.taskproject.util;
+
+import org.example.taskproject.dto.CursorPage;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+
+import java.util.List;
+import java.util.function.Function;
+
+/**
+ * Shared plumbing for seek pagination. Each query fetches one row more than the page size,
+ * which tells whether a next page exists without running a count query.
+ */
+public final class KeysetPages {
+
+    public static final int MAX_PAGE_SIZE = 100;
+
+    private KeysetPages() {
+    }
+
+    public static Pageable probe(int size) {
+        return PageRequest.ofSize(limit(size) + 1);
+    }
+
+    public static <E, T> CursorPage<T> toPage(List<E> rows,
+                                              int size,
+                                              Function<E, String> cursorOf,
+                                              Function<E, T> mapper) {
+        int limit = limit(size);
+        String nextCursor = null;
+        if (rows.size() > limit) {
+            rows = rows.subList(0, limit);
+            nextCursor = cursorOf.apply(rows.get(limit - 1));
+        }
+        return new CursorPage<>(rows.stream().map(mapper).toList(), nextCursor);
+    }
+
+    private static int limit(int size) {
+        return Math.max(1, Math.min(size, MAX_PAGE_SIZE));
+    }
+}
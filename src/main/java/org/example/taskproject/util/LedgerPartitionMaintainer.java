@@ -0,0 +1,75 @@
+package org.example.taskproject.util;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.ZoneOffset;
+import java.time.format.DateTimeFormatter;
+
+/**
+ * Keeps monthly partitions of card_transactions created ahead of time, so inserts never
+ * land in the default partition (which would block creating the matching month later).
+ */
+@Slf4j
+@Component
+public class LedgerPartitionMaintainer {
+
+    private static final DateTimeFormatter SUFFIX = DateTimeFormatter.ofPattern("yyyy_MM");
+    // The partitions cron fires once a day.
+    private static final Duration LOCK_HOLD = Duration.ofDays(1);
+
+    private final JdbcTemplate jdbcTemplate;
+    private final ClusterJobLock jobLock;
+    private final Clock clock;
+    private final int monthsAhead;
+
+    @Autowired
+    public LedgerPartitionMaintainer(JdbcTemplate jdbcTemplate,
+                                     ClusterJobLock jobLock,
+                                     @Value("${ledger.partitions.months-ahead:3}") int monthsAhead) {
+        this(jdbcTemplate, jobLock, Clock.systemUTC(), monthsAhead);
+    }
+
+    LedgerPartitionMaintainer(JdbcTemplate jdbcTemplate, ClusterJobLock jobLock, Clock clock, int monthsAhead) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.jobLock = jobLock;
+        this.clock = clock;
+        this.monthsAhead = monthsAhead;
+    }
+
+    @Scheduled(cron = "${ledger.partitions.cron:0 0 3 * * *}", zone = "UTC")
+    public void maintainPartitions() {
+        jobLock.run("ledger-partitions", LOCK_HOLD, this::ensurePartitions);
+    }
+
+    /** Also runs on every node at startup, unlocked, so a fresh database has this month's partition. */
+    @EventListener(ApplicationReadyEvent.class)
+    public void ensurePartitions() {
+        LocalDate firstMonth = LocalDate.now(clock.withZone(ZoneOffset.UTC)).withDayOfMonth(1);
+        for (int i = 0; i <= monthsAhead; i++) {
+            createMonth(firstMonth.plusMonths(i));
+        }
+    }
+
+    private void createMonth(LocalDate monthStart) {
+        String partition = "card_transactions_" + monthStart.format(SUFFIX);
+        String sql = "CREATE TABLE IF NOT EXISTS " + partition +
+                " PARTITION OF card_transactions FOR VALUES FROM ('" + monthStart + " 00:00:00+00')" +
+                " TO ('" + monthStart.plusMonths(1) + " 00:00:00+00')";
+        try {
+            jdbcTemplate.execute(sql);
+        } catch (DataAccessException e) {
+            log.warn("Failed to create ledger partition: partition={}, cause={}", partition, e.getMessage());
+        }
+    }
+}
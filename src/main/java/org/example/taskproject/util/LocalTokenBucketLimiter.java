@@ -0,0 +1,103 @@
+package org.example.taskproject.util;
+
+import org.example.taskproject.config.RateLimitProperties;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.function.LongSupplier;
+
+/**
+ * Per-node token buckets. Keys are spread over a fixed set of stripes, each guarding a plain
+ * HashMap with its own monitor, so unrelated clients never contend and a hit on an existing
+ * bucket allocates nothing. Buckets idle longer than the eviction window are swept periodically.
+ */
+@Component
+@ConditionalOnProperty(name = "rate-limit.mode", havingValue = "local", matchIfMissing = true)
+public class LocalTokenBucketLimiter implements RateLimiter {
+
+    private static final int STRIPES = 64;
+
+    private final Stripe[] stripes = new Stripe[STRIPES];
+    private final LongSupplier nanoClock;
+    private final long idleEvictionNanos;
+
+    @Autowired
+    public LocalTokenBucketLimiter(RateLimitProperties properties) {
+        this(System::nanoTime, properties.getIdleEvictionMs());
+    }
+
+    public LocalTokenBucketLimiter(LongSupplier nanoClock, long idleEvictionMs) {
+        this.nanoClock = nanoClock;
+        this.idleEvictionNanos = TimeUnit.MILLISECONDS.toNanos(idleEvictionMs);
+        for (int i = 0; i < STRIPES; i++) {
+            stripes[i] = new Stripe();
+        }
+    }
+
+    @Override
+    public boolean tryAcquire(String key, int capacity, double refillPerSecond) {
+        long now = nanoClock.getAsLong();
+        Stripe stripe = stripeFor(key);
+        synchronized (stripe) {
+            Bucket bucket = stripe.buckets.get(key);
+            if (bucket == null) {
+                bucket = new Bucket(capacity, now);
+                stripe.buckets.put(key, bucket);
+            } else {
+                double refill = (now - bucket.updatedAt) / 1_000_000_000.0 * refillPerSecond;
+                bucket.tokens = Math.min(capacity, bucket.tokens + refill);
+                bucket.updatedAt = now;
+            }
+
+            if (bucket.tokens < 1) {
+                return false;
+            }
+            bucket.tokens -= 1;
+            return true;
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${rate-limit.idle-eviction-ms:600000}")
+    public void evictIdle() {
+        long now = nanoClock.getAsLong();
+        for (Stripe stripe : stripes) {
+            synchronized (stripe) {
+                stripe.buckets.values().removeIf(bucket -> now - bucket.updatedAt > idleEvictionNanos);
+            }
+        }
+    }
+
+    public int size() {
+        int size = 0;
+        for (Stripe stripe : stripes) {
+            synchronized (stripe) {
+                size += stripe.buckets.size();
+            }
+        }
+        return size;
+    }
+
+    private Stripe stripeFor(String key) {
+        int hash = key.hashCode();
+        return stripes[(hash ^ (hash >>> 16)) & (STRIPES - 1)];
+    }
+
+    private static final class Stripe {
+        private final Map<String, Bucket> buckets = new HashMap<>();
+    }
+
+    private static final class Bucket {
+        private double tokens;
+        private long updatedAt;
+
+        private Bucket(double tokens, long updatedAt) {
+            this.tokens = tokens;
+            this.updatedAt = updatedAt;
+        }
+    }
+}
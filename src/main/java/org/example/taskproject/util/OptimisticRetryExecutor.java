@@ -0,0 +1,109 @@
+package org.example.taskproject.util;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.dao.PessimisticLockingFailureException;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.function.Supplier;
+
+/**
+ * Runs a card mutation in its own transaction and re-runs it on version conflicts or lock
+ * failures, with full-jitter exponential backoff. Retries are also capped by a shared budget
+ * that refills with successful commits, so a conflict storm cannot multiply the load.
+ * <p>
+ * Version conflicts only come from entity writes, such as the admin block and delete. Transfers
+ * and self-service blocks use guarded UPDATEs that check balance and status in the WHERE clause.
+ * Losing a race there means the guard matches no row, which the caller reports as a business
+ * error and is never retried. For those operations this executor only sees deadlocks and lock
+ * timeouts. Failed attempts are tagged {@code version_conflict} or {@code lock_failure} so the
+ * metrics keep the two apart.
+ */
+@Slf4j
+@Component
+public class OptimisticRetryExecutor {
+
+    private final TransactionTemplate transactionTemplate;
+    private final MeterRegistry meterRegistry;
+    private final int maxAttempts;
+    private final long baseBackoffMs;
+    private final long maxBackoffMs;
+    private final double budgetPerCommit;
+    private final double maxBudget;
+    private double retryBudget;
+
+    public OptimisticRetryExecutor(PlatformTransactionManager transactionManager,
+                                   MeterRegistry meterRegistry,
+                                   @Value("${card.retry.max-attempts:5}") int maxAttempts,
+                                   @Value("${card.retry.base-backoff-ms:5}") long baseBackoffMs,
+                                   @Value("${card.retry.max-backoff-ms:200}") long maxBackoffMs,
+                                   @Value("${card.retry.budget-per-commit:0.2}") double budgetPerCommit,
+                                   @Value("${card.retry.max-budget:100}") double maxBudget) {
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.meterRegistry = meterRegistry;
+        this.maxAttempts = maxAttempts;
+        this.baseBackoffMs = baseBackoffMs;
+        this.maxBackoffMs = maxBackoffMs;
+        this.budgetPerCommit = budgetPerCommit;
+        this.maxBudget = maxBudget;
+        this.retryBudget = maxBudget;
+    }
+
+    public void run(String operation, Runnable action) {
+        execute(operation, () -> {
+            action.run();
+            return null;
+        });
+    }
+
+    public <T> T execute(String operation, Supplier<T> action) {
+        for (int attempt = 1; ; attempt++) {
+            try {
+                T result = transactionTemplate.execute(status -> action.get());
+                meterRegistry.counter("card.mutation.attempts", "operation", operation, "outcome", "committed").increment();
+                depositBudget();
+                return result;
+            } catch (OptimisticLockingFailureException | PessimisticLockingFailureException e) {
+                String outcome = e instanceof OptimisticLockingFailureException ? "version_conflict" : "lock_failure";
+                meterRegistry.counter("card.mutation.attempts", "operation", operation, "outcome", outcome).increment();
+
+                if (attempt >= maxAttempts || !withdrawBudget()) {
+                    log.warn("Giving up after conflict: operation={}, attempts={}", operation, attempt);
+                    meterRegistry.counter("card.mutation.retries.exhausted", "operation", operation).increment();
+                    throw e;
+                }
+
+                meterRegistry.counter("card.mutation.retries", "operation", operation).increment();
+                log.debug("Conflict on {}, retrying: attempt={}, cause={}", operation, attempt, e.getMessage());
+                backoff(attempt, e);
+            }
+        }
+    }
+
+    private void backoff(int attempt, RuntimeException cause) {
+        long ceiling = Math.min(maxBackoffMs, baseBackoffMs << Math.min(attempt, 20));
+        try {
+            Thread.sleep(ThreadLocalRandom.current().nextLong(ceiling + 1));
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw cause;
+        }
+    }
+
+    private synchronized void depositBudget() {
+        retryBudget = Math.min(maxBudget, retryBudget + budgetPerCommit);
+    }
+
+    private synchronized boolean withdrawBudget() {
+        if (retryBudget < 1) {
+            return false;
+        }
+        retryBudget -= 1;
+        return true;
+    }
+}
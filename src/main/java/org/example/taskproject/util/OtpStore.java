@@ -0,0 +1,19 @@
+package org.example.taskproject.util;
+
+import org.example.taskproject.enums.OtpCheckResult;
+
+import java.time.Duration;
+
+public interface OtpStore {
+
+    /**
+     * Stores {@code code} as the current one-time code for {@code email}, replacing any previous one.
+     */
+    void put(String email, String code, Duration ttl);
+
+    /**
+     * Marks the current code for {@code email} as used if it matches and has not expired. A code
+     * can be verified at most once, even under concurrent attempts.
+     */
+    OtpCheckResult consume(String email, String code);
+}
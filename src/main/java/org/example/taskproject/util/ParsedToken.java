@@ -0,0 +1,26 @@
+package org.example.taskproject.util;
+
+import io.jsonwebtoken.Claims;
+
+import java.time.Instant;
+import java.util.List;
+
+public record ParsedToken(String jti, String subject, Instant expiration, Claims claims) {
+
+    public Long userId() {
+        return claims.get(JwtUtil.USER_ID_CLAIM, Long.class);
+    }
+
+    public List<String> roles() {
+        List<?> roles = claims.get(JwtUtil.ROLES_CLAIM, List.class);
+        return roles == null ? List.of() : roles.stream().map(String::valueOf).toList();
+    }
+
+    public String status() {
+        return claims.get(JwtUtil.STATUS_CLAIM, String.class);
+    }
+
+    public Integer tokenVersion() {
+        return claims.get(JwtUtil.VERSION_CLAIM, Integer.class);
+    }
+}
@@ -0,0 +1,171 @@
+package org.example.taskproject.util;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.binder.jvm.ExecutorServiceMetrics;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.example.taskproject.exception.ServiceBusyException;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.FutureTask;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Runs BCrypt on a core-sized pool with a bounded queue, so a signup or login spike cannot
+ * occupy every request thread with hashing. When the queue is full the call fails immediately
+ * with PASSWORD_HASHING_BUSY (503) instead of piling up behind the CPU. Bulk work is capped at
+ * half the threads and waits for a slot rather than failing.
+ */
+@Slf4j
+@Component
+public class PasswordHashingExecutor {
+
+    private final PasswordEncoder passwordEncoder;
+    private final ThreadPoolExecutor executor;
+    private final MeterRegistry meterRegistry;
+    private final long timeoutMs;
+    private final Semaphore bulkPermits;
+
+    public PasswordHashingExecutor(PasswordEncoder passwordEncoder,
+                                   MeterRegistry meterRegistry,
+                                   @Value("${security.password-hashing.threads:0}") int threads,
+                                   @Value("${security.password-hashing.queue-capacity:64}") int queueCapacity,
+                                   @Value("${security.password-hashing.timeout-ms:5000}") long timeoutMs) {
+        this.passwordEncoder = passwordEncoder;
+        this.meterRegistry = meterRegistry;
+        this.timeoutMs = timeoutMs;
+
+        int poolSize = threads > 0 ? threads : Runtime.getRuntime().availableProcessors();
+        this.bulkPermits = new Semaphore(Math.max(1, poolSize / 2));
+        AtomicInteger threadNumber = new AtomicInteger();
+        this.executor = new ThreadPoolExecutor(poolSize, poolSize, 0L, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(queueCapacity),
+                runnable -> {
+                    Thread thread = new Thread(runnable, "password-hashing-" + threadNumber.incrementAndGet());
+                    thread.setDaemon(true);
+                    return thread;
+                },
+                new ThreadPoolExecutor.AbortPolicy());
+
+        new ExecutorServiceMetrics(executor, "passwordHashing", List.of()).bindTo(meterRegistry);
+    }
+
+    public String encode(CharSequence rawPassword) {
+        return submit("encode", () -> passwordEncoder.encode(rawPassword));
+    }
+
+    public boolean matches(CharSequence rawPassword, String encodedPassword) {
+        return submit("matches", () -> passwordEncoder.matches(rawPassword, encodedPassword));
+    }
+
+    /**
+     * Hashes a batch in parallel, returning hashes in input order, with null for any password the
+     * encoder rejected. Blocks the caller while the bulk share of the pool is busy, and hashes on the
+     * caller thread if the queue is full.
+     */
+    public List<String> encodeAll(List<? extends CharSequence> rawPasswords) {
+        Timer.Sample sample = Timer.start(meterRegistry);
+        List<Future<String>> futures = new ArrayList<>(rawPasswords.size());
+        try {
+            for (CharSequence rawPassword : rawPasswords) {
+                futures.add(submitBulk(rawPassword));
+            }
+
+            List<String> hashes = new ArrayList<>(futures.size());
+            for (Future<String> future : futures) {
+                try {
+                    hashes.add(await("encodeAll", future));
+                } catch (ServiceBusyException e) {
+                    throw e;
+                } catch (RuntimeException e) {
+                    log.warn("Password rejected by encoder: cause={}", e.getMessage());
+                    hashes.add(null);
+                }
+            }
+            return hashes;
+        } finally {
+            futures.forEach(future -> future.cancel(true));
+            sample.stop(meterRegistry.timer("password.hashing.latency", "operation", "encodeAll"));
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        executor.shutdown();
+    }
+
+    private <T> T submit(String operation, Callable<T> task) {
+        Timer.Sample sample = Timer.start(meterRegistry);
+        Future<T> future;
+        try {
+            future = executor.submit(task);
+        } catch (RejectedExecutionException e) {
+            meterRegistry.counter("password.hashing.rejected", "operation", operation).increment();
+            log.warn("Password hashing rejected, queue full: operation={}", operation);
+            throw new ServiceBusyException("PASSWORD_HASHING_BUSY");
+        }
+
+        try {
+            return await(operation, future);
+        } finally {
+            sample.stop(meterRegistry.timer("password.hashing.latency", "operation", operation));
+        }
+    }
+
+    private Future<String> submitBulk(CharSequence rawPassword) {
+        try {
+            bulkPermits.acquire();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new ServiceBusyException("PASSWORD_HASHING_BUSY");
+        }
+
+        // done() also runs when the task is cancelled before it starts, so the permit always comes back.
+        FutureTask<String> task = new FutureTask<>(() -> passwordEncoder.encode(rawPassword)) {
+            @Override
+            protected void done() {
+                bulkPermits.release();
+            }
+        };
+        try {
+            executor.execute(task);
+        } catch (RejectedExecutionException e) {
+            meterRegistry.counter("password.hashing.rejected", "operation", "encodeAll").increment();
+            task.run();
+        }
+        return task;
+    }
+
+    private <T> T await(String operation, Future<T> future) {
+        try {
+            return future.get(timeoutMs, TimeUnit.MILLISECONDS);
+        } catch (TimeoutException e) {
+            future.cancel(true);
+            log.warn("Password hashing timed out: operation={}, timeoutMs={}", operation, timeoutMs);
+            throw new ServiceBusyException("PASSWORD_HASHING_BUSY");
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            future.cancel(true);
+            throw new ServiceBusyException("PASSWORD_HASHING_BUSY");
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof RuntimeException runtime) {
+                throw runtime;
+            }
+            throw new IllegalStateException(e.getCause());
+        }
+    }
+}
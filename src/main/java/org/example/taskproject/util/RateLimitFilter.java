@@ -0,0 +1,143 @@
+package org.example.taskproject.util;
+
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.extern.slf4j.Slf4j;
+import org.example.taskproject.config.RateLimitProperties;
+import org.example.taskproject.config.RateLimitProperties.EmailSource;
+import org.example.taskproject.config.RateLimitProperties.Policy;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.HashMap;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * Throttles unauthenticated auth endpoints before any JWT parsing, BCrypt work or OTP inserts
+ * happen. Each policy has one bucket per client IP and one per email. The email is read from
+ * wherever the endpoint binds it (query parameter or the "email" field of the JSON body), so a
+ * decoy in the other place cannot steer the request into a fresh bucket. Bodies larger than
+ * max-body-bytes are refused with 413 rather than truncated.
+ */
+@Slf4j
+@Component
+public class RateLimitFilter extends OncePerRequestFilter {
+
+    private static final byte[] REJECTED_BODY = "{\"message\":\"TOO_MANY_REQUESTS\"}".getBytes(StandardCharsets.UTF_8);
+    private static final byte[] TOO_LARGE_BODY = "{\"message\":\"PAYLOAD_TOO_LARGE\"}".getBytes(StandardCharsets.UTF_8);
+
+    private final RateLimiter rateLimiter;
+    private final RateLimitProperties properties;
+    private final MeterRegistry meterRegistry;
+    private final JsonFactory jsonFactory = new JsonFactory();
+    private final Map<String, Map.Entry<String, Policy>> policiesByPath = new HashMap<>();
+
+    public RateLimitFilter(RateLimiter rateLimiter, RateLimitProperties properties, MeterRegistry meterRegistry) {
+        this.rateLimiter = rateLimiter;
+        this.properties = properties;
+        this.meterRegistry = meterRegistry;
+        properties.getPolicies().entrySet()
+                .forEach(entry -> policiesByPath.put(entry.getValue().getPath(), entry));
+    }
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        return !properties.isEnabled()
+                || !"POST".equals(request.getMethod())
+                || !policiesByPath.containsKey(request.getRequestURI());
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request,
+                                    HttpServletResponse response,
+                                    FilterChain filterChain)
+            throws ServletException, IOException {
+
+        Map.Entry<String, Policy> entry = policiesByPath.get(request.getRequestURI());
+        String name = entry.getKey();
+        Policy policy = entry.getValue();
+
+        if (policy.getIpCapacity() > 0
+                && !rateLimiter.tryAcquire("ip:" + name + ":" + request.getRemoteAddr(),
+                policy.getIpCapacity(), policy.getIpRefillPerMinute() / 60.0)) {
+            reject(response, name, "ip", policy.getIpRefillPerMinute());
+            return;
+        }
+
+        HttpServletRequest forwarded = request;
+        if (policy.getEmailCapacity() > 0) {
+            String email;
+            if (policy.getEmailSource() == EmailSource.PARAM) {
+                email = request.getParameter("email");
+            } else {
+                byte[] body = request.getInputStream().readNBytes(properties.getMaxBodyBytes() + 1);
+                if (body.length > properties.getMaxBodyBytes()) {
+                    tooLarge(response, name);
+                    return;
+                }
+                CachedBodyHttpServletRequest cached = new CachedBodyHttpServletRequest(request, body);
+                forwarded = cached;
+                email = readEmail(cached.getBody());
+            }
+
+            if (email != null
+                    && !rateLimiter.tryAcquire("email:" + name + ":" + email.trim().toLowerCase(Locale.ROOT),
+                    policy.getEmailCapacity(), policy.getEmailRefillPerMinute() / 60.0)) {
+                reject(response, name, "email", policy.getEmailRefillPerMinute());
+                return;
+            }
+        }
+
+        filterChain.doFilter(forwarded, response);
+    }
+
+    private String readEmail(byte[] body) {
+        try (JsonParser parser = jsonFactory.createParser(body)) {
+            if (parser.nextToken() != JsonToken.START_OBJECT) {
+                return null;
+            }
+            while (parser.nextToken() == JsonToken.FIELD_NAME) {
+                String field = parser.currentName();
+                JsonToken value = parser.nextToken();
+                if ("email".equals(field) && value == JsonToken.VALUE_STRING) {
+                    return parser.getText();
+                }
+                parser.skipChildren();
+            }
+        } catch (IOException e) {
+            // malformed bodies are left for the controller to reject
+        }
+        return null;
+    }
+
+    private void tooLarge(HttpServletResponse response, String policy) throws IOException {
+        log.warn("Rate-limited request body too large: policy={}", policy);
+        response.setStatus(HttpServletResponse.SC_REQUEST_ENTITY_TOO_LARGE);
+        response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+        response.setContentLength(TOO_LARGE_BODY.length);
+        response.getOutputStream().write(TOO_LARGE_BODY);
+    }
+
+    private void reject(HttpServletResponse response, String policy, String keyType, int refillPerMinute)
+            throws IOException {
+        log.warn("Rate limit exceeded: policy={}, key={}", policy, keyType);
+        meterRegistry.counter("rate_limit.rejected", "policy", policy, "key_type", keyType).increment();
+
+        long retryAfter = refillPerMinute > 0 ? (long) Math.ceil(60.0 / refillPerMinute) : 60;
+        response.setStatus(429);
+        response.setHeader("Retry-After", Long.toString(retryAfter));
+        response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+        response.setContentLength(REJECTED_BODY.length);
+        response.getOutputStream().write(REJECTED_BODY);
+    }
+}
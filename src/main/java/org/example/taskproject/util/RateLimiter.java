@@ -0,0 +1,11 @@
+package org.example.taskproject.util;
+
+public interface RateLimiter {
+
+    /**
+     * Takes one token from the bucket identified by {@code key}, creating a full bucket on first use.
+     *
+     * @return false when the bucket is empty
+     */
+    boolean tryAcquire(String key, int capacity, double refillPerSecond);
+}
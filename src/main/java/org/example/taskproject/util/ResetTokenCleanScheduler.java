@@ -2,20 +2,22 @@ package org.example.taskproject.util;
 
 
 import lombok.RequiredArgsConstructor;
-import org.example.taskproject.repository.PasswordResetTokenRepository;
 import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.stereotype.Component;
-import org.springframework.transaction.annotation.Transactional;
+
+import java.time.Duration;
 
 @Component
 @RequiredArgsConstructor
 public class ResetTokenCleanScheduler {
-    private final PasswordResetTokenRepository passwordResetTokenRepository;
+    private static final Duration LOCK_HOLD = Duration.ofHours(1);
+
+    private final ExpiringTablePurger tablePurger;
+    private final ClusterJobLock jobLock;
 
 
-    @Scheduled(fixedRate = 60 * 60 * 1000)
-    @Transactional
+    @Scheduled(cron = "0 0 * * * *", zone = "UTC")
     public void cleanup() {
-        passwordResetTokenRepository.deleteByUsed(true);
+        jobLock.run("reset-token-cleanup", LOCK_HOLD, () -> tablePurger.purge("reset_tokens"));
     }
 }
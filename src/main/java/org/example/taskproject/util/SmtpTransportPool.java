@@ -0,0 +1,165 @@
+package org.example.taskproject.util;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import jakarta.mail.MessagingException;
+import jakarta.mail.Transport;
+import jakarta.mail.internet.MimeMessage;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.mail.MailSendException;
+import org.springframework.mail.SimpleMailMessage;
+import org.springframework.mail.javamail.JavaMailSenderImpl;
+import org.springframework.mail.javamail.MimeMailMessage;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.Date;
+import java.util.IdentityHashMap;
+import java.util.Map;
+import java.util.concurrent.BlockingDeque;
+import java.util.concurrent.LinkedBlockingDeque;
+
+/**
+ * Keeps authenticated SMTP sessions open between sends. JavaMailSender opens, negotiates TLS
+ * and closes a connection on every call; here a micro-batch reuses an idle session and returns
+ * it to the pool afterwards. Connection settings come from the spring.mail.* sender.
+ */
+@Slf4j
+@Component
+public class SmtpTransportPool {
+
+    private final JavaMailSenderImpl mailSender;
+    private final BlockingDeque<PooledTransport> idle;
+    private final Duration maxIdle;
+    private final Counter sessionsOpened;
+
+    public SmtpTransportPool(JavaMailSenderImpl mailSender,
+                             MeterRegistry meterRegistry,
+                             @Value("${email.smtp.pool-size:4}") int poolSize,
+                             @Value("${email.smtp.max-idle-ms:30000}") long maxIdleMs) {
+        this.mailSender = mailSender;
+        this.idle = new LinkedBlockingDeque<>(poolSize);
+        this.maxIdle = Duration.ofMillis(maxIdleMs);
+        this.sessionsOpened = meterRegistry.counter("email.smtp.sessions.opened");
+        meterRegistry.gauge("email.smtp.sessions.idle", idle, BlockingDeque::size);
+    }
+
+    /**
+     * Sends all messages over one pooled session. Mirrors {@code JavaMailSender.send(SimpleMailMessage...)}:
+     * failures are reported per message through {@link MailSendException#getFailedMessages()}.
+     */
+    public void send(SimpleMailMessage... messages) {
+        Map<Object, Exception> failed = new IdentityHashMap<>();
+
+        PooledTransport pooled;
+        try {
+            pooled = borrow();
+        } catch (MessagingException e) {
+            for (SimpleMailMessage message : messages) {
+                failed.put(message, e);
+            }
+            throw new MailSendException("SMTP_CONNECT_FAILED", e, failed);
+        }
+
+        boolean healthy = true;
+        try {
+            for (int i = 0; i < messages.length; i++) {
+                try {
+                    MimeMessage mime = toMimeMessage(messages[i]);
+                    pooled.transport.sendMessage(mime, mime.getAllRecipients());
+                } catch (MessagingException e) {
+                    failed.put(messages[i], e);
+                    if (!pooled.transport.isConnected()) {
+                        healthy = false;
+                        for (int j = i + 1; j < messages.length; j++) {
+                            failed.put(messages[j], e);
+                        }
+                        break;
+                    }
+                }
+            }
+        } finally {
+            release(pooled, healthy);
+        }
+
+        if (!failed.isEmpty()) {
+            throw new MailSendException(failed);
+        }
+    }
+
+    @PreDestroy
+    public void close() {
+        PooledTransport pooled;
+        while ((pooled = idle.pollFirst()) != null) {
+            closeQuietly(pooled);
+        }
+    }
+
+    private PooledTransport borrow() throws MessagingException {
+        PooledTransport pooled;
+        while ((pooled = idle.pollFirst()) != null) {
+            if (pooled.idleFor() < maxIdle.toMillis() && pooled.transport.isConnected()) {
+                return pooled;
+            }
+            closeQuietly(pooled);
+        }
+
+        Transport transport = mailSender.getSession().getTransport(protocol());
+        transport.connect(mailSender.getHost(), mailSender.getPort(), mailSender.getUsername(), mailSender.getPassword());
+        sessionsOpened.increment();
+        log.debug("Opened SMTP session: host={}", mailSender.getHost());
+        return new PooledTransport(transport);
+    }
+
+    // Same fallback as JavaMailSenderImpl.getTransport: the session property, then smtp.
+    private String protocol() {
+        String protocol = mailSender.getProtocol();
+        if (protocol == null) {
+            protocol = mailSender.getSession().getProperty("mail.transport.protocol");
+        }
+        return protocol != null ? protocol : JavaMailSenderImpl.DEFAULT_PROTOCOL;
+    }
+
+    private void release(PooledTransport pooled, boolean healthy) {
+        pooled.lastUsed = System.currentTimeMillis();
+        if (!healthy || !idle.offerFirst(pooled)) {
+            closeQuietly(pooled);
+        }
+    }
+
+    private MimeMessage toMimeMessage(SimpleMailMessage message) throws MessagingException {
+        MimeMessage mime = new MimeMessage(mailSender.getSession());
+        message.copyTo(new MimeMailMessage(mime));
+        if (message.getFrom() == null && mailSender.getUsername() != null) {
+            mime.setFrom(mailSender.getUsername());
+        }
+        if (mime.getSentDate() == null) {
+            mime.setSentDate(new Date());
+        }
+        mime.saveChanges();
+        return mime;
+    }
+
+    private void closeQuietly(PooledTransport pooled) {
+        try {
+            pooled.transport.close();
+        } catch (MessagingException e) {
+            log.debug("Failed to close SMTP session: {}", e.getMessage());
+        }
+    }
+
+    private static final class PooledTransport {
+        private final Transport transport;
+        private volatile long lastUsed = System.currentTimeMillis();
+
+        private PooledTransport(Transport transport) {
+            this.transport = transport;
+        }
+
+        private long idleFor() {
+            return System.currentTimeMillis() - lastUsed;
+        }
+    }
+}
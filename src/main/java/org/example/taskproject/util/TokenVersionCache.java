@@ -0,0 +1,68 @@
+package org.example.taskproject.util;
+
+import org.example.taskproject.repository.UserRepository;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Short-lived view of users.token_version. A token is accepted only while the version it was
+ * issued with is still current; admin actions bump the version and update this cache once the
+ * change commits, other replicas pick the change up once their entry expires.
+ */
+@Component
+public class TokenVersionCache {
+
+    private static final int MISSING_USER = -1;
+
+    private final UserRepository userRepository;
+    private final long ttlMs;
+    private final int maxSize;
+    private final Map<Long, CachedVersion> versions = new ConcurrentHashMap<>();
+
+    public TokenVersionCache(UserRepository userRepository,
+                             @Value("${security.token-version.ttl-ms:30000}") long ttlMs,
+                             @Value("${security.token-version.max-size:10000}") int maxSize) {
+        this.userRepository = userRepository;
+        this.ttlMs = ttlMs;
+        this.maxSize = maxSize;
+    }
+
+    public boolean isCurrent(Long userId, Integer tokenVersion) {
+        if (userId == null || tokenVersion == null) {
+            return false;
+        }
+        return currentVersion(userId) == tokenVersion;
+    }
+
+    public void put(Long userId, int tokenVersion) {
+        store(userId, tokenVersion, System.currentTimeMillis());
+    }
+
+    private int currentVersion(Long userId) {
+        long now = System.currentTimeMillis();
+        CachedVersion cached = versions.get(userId);
+        if (cached != null && now - cached.loadedAt() < ttlMs) {
+            return cached.version();
+        }
+
+        int version = userRepository.findTokenVersionById(userId).orElse(MISSING_USER);
+        store(userId, version, now);
+        return version;
+    }
+
+    private void store(Long userId, int version, long loadedAt) {
+        if (versions.size() >= maxSize) {
+            versions.values().removeIf(entry -> loadedAt - entry.loadedAt() >= ttlMs);
+            if (versions.size() >= maxSize) {
+                versions.clear();
+            }
+        }
+        versions.put(userId, new CachedVersion(version, loadedAt));
+    }
+
+    private record CachedVersion(int version, long loadedAt) {
+    }
+}
@@ -0,0 +1,136 @@
+package org.example.taskproject.util;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.example.taskproject.enums.UserImportFormat;
+import org.example.taskproject.exception.InvalidRequestException;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.Reader;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+
+/**
+ * Reads an import one line at a time, so memory does not grow with the file. CSV needs a header
+ * naming username, email and password in any order; fields may be quoted but not span lines.
+ * NDJSON expects one object per line. Unreadable lines come back as rows carrying MALFORMED_ROW.
+ */
+public class UserImportReader {
+
+    private final BufferedReader reader;
+    private final UserImportFormat format;
+    private final ObjectMapper objectMapper;
+    private int line;
+    private int usernameColumn;
+    private int emailColumn;
+    private int passwordColumn;
+
+    public UserImportReader(Reader source, UserImportFormat format, ObjectMapper objectMapper) throws IOException {
+        this.reader = new BufferedReader(source);
+        this.format = format;
+        this.objectMapper = objectMapper;
+        if (format == UserImportFormat.CSV) {
+            readHeader();
+        }
+    }
+
+    /** Returns the next non-blank row, or null at the end of the input. */
+    public Row next() throws IOException {
+        String text;
+        do {
+            text = reader.readLine();
+            if (text == null) {
+                return null;
+            }
+            line++;
+        } while (text.isBlank());
+
+        return format == UserImportFormat.CSV ? parseCsv(text) : parseJson(text);
+    }
+
+    private void readHeader() throws IOException {
+        String header = reader.readLine();
+        line++;
+        List<String> columns = header == null ? null : splitCsv(header.replace("\uFEFF", ""));
+        if (columns == null) {
+            throw new InvalidRequestException("INVALID_IMPORT_HEADER");
+        }
+
+        List<String> names = columns.stream().map(name -> name.trim().toLowerCase(Locale.ROOT)).toList();
+        usernameColumn = names.indexOf("username");
+        emailColumn = names.indexOf("email");
+        passwordColumn = names.indexOf("password");
+        if (usernameColumn < 0 || emailColumn < 0 || passwordColumn < 0) {
+            throw new InvalidRequestException("INVALID_IMPORT_HEADER");
+        }
+    }
+
+    private Row parseCsv(String text) {
+        List<String> fields = splitCsv(text);
+        int required = Math.max(usernameColumn, Math.max(emailColumn, passwordColumn));
+        if (fields == null || fields.size() <= required) {
+            return Row.malformed(line);
+        }
+        return new Row(line, fields.get(usernameColumn), fields.get(emailColumn), fields.get(passwordColumn), null);
+    }
+
+    private Row parseJson(String text) {
+        try {
+            JsonNode node = objectMapper.readTree(text);
+            if (!node.isObject()) {
+                return Row.malformed(line);
+            }
+            return new Row(line, textOf(node, "username"), textOf(node, "email"), textOf(node, "password"), null);
+        } catch (JsonProcessingException e) {
+            return Row.malformed(line);
+        }
+    }
+
+    private static String textOf(JsonNode node, String field) {
+        JsonNode value = node.get(field);
+        return value != null && value.isTextual() ? value.asText() : null;
+    }
+
+    private static List<String> splitCsv(String text) {
+        List<String> fields = new ArrayList<>();
+        StringBuilder field = new StringBuilder();
+        boolean quoted = false;
+
+        for (int i = 0; i < text.length(); i++) {
+            char c = text.charAt(i);
+            if (quoted) {
+                if (c != '"') {
+                    field.append(c);
+                } else if (i + 1 < text.length() && text.charAt(i + 1) == '"') {
+                    field.append('"');
+                    i++;
+                } else {
+                    quoted = false;
+                }
+            } else if (c == '"') {
+                quoted = true;
+            } else if (c == ',') {
+                fields.add(field.toString());
+                field.setLength(0);
+            } else {
+                field.append(c);
+            }
+        }
+
+        if (quoted) {
+            return null;
+        }
+        fields.add(field.toString());
+        return fields;
+    }
+
+    public record Row(int line, String username, String email, String password, String error) {
+
+        static Row malformed(int line) {
+            return new Row(line, null, null, null, "MALFORMED_ROW");
+        }
+    }
+}
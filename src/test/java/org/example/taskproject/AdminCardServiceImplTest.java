@@ -1,7 +1,10 @@
 package org.example.taskproject;
 
+import org.example.taskproject.dto.CardIssueRequest;
 import org.example.taskproject.dto.CardRequest;
 import org.example.taskproject.dto.CardResponse;
+import org.example.taskproject.dto.CardView;
+import org.example.taskproject.dto.CursorPage;
 import org.example.taskproject.entity.CardEntity;
 import org.example.taskproject.entity.UserEntity;
 import org.example.taskproject.enums.CardStatus;
@@ -12,11 +15,13 @@ import org.example.taskproject.mapper.CardMapper;
 import org.example.taskproject.repository.CardRepository;
 import org.example.taskproject.repository.UserRepository;
 import org.example.taskproject.service.impl.AdminCardServiceImpl;
+import org.example.taskproject.util.OptimisticRetryExecutor;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.mockito.*;
 import org.springframework.data.domain.*;
 
+import java.math.BigDecimal;
 import java.time.LocalDate;
 import java.util.List;
 import java.util.Optional;
@@ -38,9 +43,16 @@ class AdminCardServiceImplTest {
     @Mock
     private CardMapper cardMapper;
 
+    @Mock
+    private OptimisticRetryExecutor retryExecutor;
+
     @BeforeEach
     void setUp() {
         MockitoAnnotations.openMocks(this);
+        doAnswer(invocation -> {
+            invocation.<Runnable>getArgument(1).run();
+            return null;
+        }).when(retryExecutor).run(anyString(), any());
     }
 
     @Test
@@ -77,6 +89,54 @@ class AdminCardServiceImplTest {
         verify(cardRepository, never()).save(any());
     }
 
+    @Test
+    void createCards_shouldSaveAllCardsWithOneUserLookup() {
+        UserEntity first = new UserEntity();
+        first.setId(1L);
+        UserEntity second = new UserEntity();
+        second.setId(2L);
+        CardIssueRequest firstRequest = new CardIssueRequest(1L, "4000000000000001", BigDecimal.TEN);
+        CardIssueRequest secondRequest = new CardIssueRequest(2L, "4000000000000002", BigDecimal.ONE);
+        CardIssueRequest thirdRequest = new CardIssueRequest(1L, "4000000000000003", BigDecimal.ZERO);
+        CardEntity firstCard = new CardEntity();
+        CardEntity secondCard = new CardEntity();
+        CardEntity thirdCard = new CardEntity();
+
+        when(userRepository.findAllById(anyIterable())).thenReturn(List.of(first, second));
+        when(cardMapper.toCardEntity(firstRequest)).thenReturn(firstCard);
+        when(cardMapper.toCardEntity(secondRequest)).thenReturn(secondCard);
+        when(cardMapper.toCardEntity(thirdRequest)).thenReturn(thirdCard);
+
+        adminCardService.createCards(List.of(firstRequest, secondRequest, thirdRequest));
+
+        assertEquals(first, firstCard.getUser());
+        assertEquals(second, secondCard.getUser());
+        assertEquals(first, thirdCard.getUser());
+        assertEquals(CardStatus.ACTIVE, secondCard.getCardStatus());
+        assertEquals(LocalDate.now().plusYears(2), thirdCard.getExpirationDate());
+        verify(userRepository, times(1)).findAllById(anyIterable());
+        verify(cardRepository).saveAll(List.of(firstCard, secondCard, thirdCard));
+        verify(cardRepository, never()).save(any());
+    }
+
+    @Test
+    void createCards_shouldThrowNotFoundException_whenAnyUserMissing() {
+        UserEntity first = new UserEntity();
+        first.setId(1L);
+        List<CardIssueRequest> requests = List.of(
+                new CardIssueRequest(1L, "4000000000000001", BigDecimal.TEN),
+                new CardIssueRequest(2L, "4000000000000002", BigDecimal.TEN));
+
+        when(userRepository.findAllById(anyIterable())).thenReturn(List.of(first));
+
+        NotFoundException exception = assertThrows(NotFoundException.class, () ->
+                adminCardService.createCards(requests)
+        );
+
+        assertEquals("USER_NOT_FOUND", exception.getMessage());
+        verify(cardRepository, never()).saveAll(any());
+    }
+
     @Test
     void blockCard_shouldBlockCardSuccessfully() {
         Long cardId = 1L;
@@ -138,17 +198,21 @@ class AdminCardServiceImplTest {
 
     @Test
     void getAllCards_shouldReturnPagedCards() {
-        CardEntity card1 = new CardEntity();
-        CardEntity card2 = new CardEntity();
+        CardView card1 = new CardView();
+        card1.setId(1L);
+        CardView card2 = new CardView();
+        card2.setId(2L);
         CardResponse response1 = new CardResponse();
+        response1.setId(1L);
         CardResponse response2 = new CardResponse();
+        response2.setId(2L);
 
-        List<CardEntity> cards = List.of(card1, card2);
-        Page<CardEntity> page = new PageImpl<>(cards);
+        List<CardView> cards = List.of(card1, card2);
+        Page<CardView> page = new PageImpl<>(cards);
 
-        when(cardRepository.findAll(PageRequest.of(0, 2, Sort.by("id").descending()))).thenReturn(page);
-        when(cardMapper.toCardDtoResponse(card1)).thenReturn(response1);
-        when(cardMapper.toCardDtoResponse(card2)).thenReturn(response2);
+        when(cardRepository.findAllViews(PageRequest.of(0, 2, Sort.by("id").descending()))).thenReturn(page);
+        when(cardMapper.fromView(card1)).thenReturn(response1);
+        when(cardMapper.fromView(card2)).thenReturn(response2);
 
         Page<CardResponse> result = adminCardService.getAllCards(0, 2);
 
@@ -156,4 +220,31 @@ class AdminCardServiceImplTest {
         assertTrue(result.getContent().contains(response1));
         assertTrue(result.getContent().contains(response2));
     }
+
+    @Test
+    void scrollCards_shouldSeekPastLastIdWithoutCounting() {
+        CardView card3 = new CardView();
+        card3.setId(3L);
+        CardView card2 = new CardView();
+        card2.setId(2L);
+        CardView card1 = new CardView();
+        card1.setId(1L);
+
+        when(cardRepository.findLatestViews(any(Pageable.class))).thenReturn(List.of(card3, card2, card1));
+        when(cardMapper.fromView(any())).thenReturn(new CardResponse());
+
+        CursorPage<CardResponse> first = adminCardService.scrollCards(null, 2);
+
+        assertEquals(2, first.getItems().size());
+        assertNotNull(first.getNextCursor());
+
+        when(cardRepository.findViewsBefore(eq(2L), any(Pageable.class))).thenReturn(List.of(card1));
+
+        CursorPage<CardResponse> second = adminCardService.scrollCards(first.getNextCursor(), 2);
+
+        assertEquals(1, second.getItems().size());
+        assertNull(second.getNextCursor());
+        verify(cardRepository, never()).findAllViews(any(Pageable.class));
+        verify(cardRepository, never()).count();
+    }
 }
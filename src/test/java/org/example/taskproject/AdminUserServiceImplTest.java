@@ -1,5 +1,6 @@
 package org.example.taskproject;
 
+import org.example.taskproject.dto.CursorPage;
 import org.example.taskproject.dto.UserDtoRequest;
 import org.example.taskproject.dto.UserDtoResponse;
 import org.example.taskproject.entity.RoleEntity;
@@ -7,18 +8,23 @@ import org.example.taskproject.entity.UserEntity;
 import org.example.taskproject.enums.RoleName;
 import org.example.taskproject.enums.UserStatus;
 import org.example.taskproject.exception.AlreadyExistException;
+import org.example.taskproject.exception.InvalidRequestException;
 import org.example.taskproject.exception.NotFoundException;
 import org.example.taskproject.exception.PasswordMismatchException;
 import org.example.taskproject.mapper.UserMapper;
 import org.example.taskproject.repository.RoleRepository;
 import org.example.taskproject.repository.UserRepository;
 import org.example.taskproject.service.impl.AdminUserServiceImpl;
+import org.example.taskproject.service.impl.CustomUserDetailsService;
+import org.example.taskproject.util.TokenVersionCache;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.mockito.*;
 import org.springframework.data.domain.*;
 
 import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
 
 import java.util.List;
 import java.util.Optional;
@@ -43,6 +49,12 @@ class AdminUserServiceImplTest {
     @Mock
     private UserMapper userMapper;
 
+    @Mock
+    private TokenVersionCache tokenVersionCache;
+
+    @Mock
+    private CustomUserDetailsService userDetailsService;
+
     @BeforeEach
     void setUp() {
         MockitoAnnotations.openMocks(this);
@@ -154,6 +166,29 @@ class AdminUserServiceImplTest {
         adminUserService.blockUser(userId);
 
         assertEquals(UserStatus.BLOCKED, user.getUserStatus());
+        assertEquals(1, user.getTokenVersion());
+        verify(tokenVersionCache).put(userId, 1);
+    }
+
+    @Test
+    void blockUser_shouldTouchCachesOnlyAfterCommit() {
+        UserEntity user = new UserEntity();
+        user.setEmail("blocked@test.com");
+        user.setUserStatus(UserStatus.ACTIVE);
+        when(userRepository.findById(1L)).thenReturn(Optional.of(user));
+
+        TransactionSynchronizationManager.initSynchronization();
+        try {
+            adminUserService.blockUser(1L);
+
+            verifyNoInteractions(tokenVersionCache, userDetailsService);
+            TransactionSynchronizationManager.getSynchronizations().forEach(TransactionSynchronization::afterCommit);
+        } finally {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+
+        verify(tokenVersionCache).put(1L, 1);
+        verify(userDetailsService).evict("blocked@test.com");
     }
 
     @Test
@@ -182,6 +217,8 @@ class AdminUserServiceImplTest {
         adminUserService.deleteUser(userId);
 
         assertEquals(UserStatus.DELETED, user.getUserStatus());
+        assertEquals(1, user.getTokenVersion());
+        verify(tokenVersionCache).put(userId, 1);
     }
 
     @Test
@@ -209,6 +246,7 @@ class AdminUserServiceImplTest {
         adminUserService.activateUser(1L);
 
         assertEquals(UserStatus.ACTIVE, user.getUserStatus());
+        verify(userDetailsService).evict(user.getEmail());
     }
 
     @Test
@@ -257,4 +295,36 @@ class AdminUserServiceImplTest {
         assertTrue(result.getContent().contains(dto1));
         assertTrue(result.getContent().contains(dto2));
     }
+
+    @Test
+    void scrollUsers_shouldSeekPastLastIdWithoutCounting() {
+        UserEntity user3 = new UserEntity();
+        user3.setId(3L);
+        UserEntity user2 = new UserEntity();
+        user2.setId(2L);
+        UserEntity user1 = new UserEntity();
+        user1.setId(1L);
+
+        when(userRepository.findAllByOrderByIdDesc(any(Pageable.class))).thenReturn(List.of(user3, user2, user1));
+        when(userMapper.toDto(any())).thenReturn(new UserDtoResponse());
+
+        CursorPage<UserDtoResponse> first = adminUserService.scrollUsers(null, 2);
+
+        assertEquals(2, first.getItems().size());
+        assertNotNull(first.getNextCursor());
+
+        when(userRepository.findByIdLessThanOrderByIdDesc(eq(2L), any(Pageable.class))).thenReturn(List.of(user1));
+
+        CursorPage<UserDtoResponse> second = adminUserService.scrollUsers(first.getNextCursor(), 2);
+
+        assertEquals(1, second.getItems().size());
+        assertNull(second.getNextCursor());
+        verify(userRepository, never()).count();
+    }
+
+    @Test
+    void scrollUsers_shouldRejectMalformedCursor() {
+        assertThrows(InvalidRequestException.class, () -> adminUserService.scrollUsers("%%%", 10));
+        verifyNoInteractions(userRepository);
+    }
 }
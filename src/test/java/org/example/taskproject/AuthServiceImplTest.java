@@ -13,13 +13,16 @@ import org.example.taskproject.mapper.UserMapper;
 import org.example.taskproject.repository.RoleRepository;
 import org.example.taskproject.repository.UserRepository;
 import org.example.taskproject.service.impl.*;
+import org.example.taskproject.util.AuthenticatedUser;
+import org.example.taskproject.util.CurrentUserResolver;
 import org.example.taskproject.util.JwtUtil;
+import org.example.taskproject.util.ParsedToken;
+import org.example.taskproject.util.PasswordHashingExecutor;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.mockito.*;
 import org.springframework.security.authentication.BadCredentialsException;
 import org.springframework.security.core.Authentication;
-import org.springframework.security.crypto.password.PasswordEncoder;
 
 import java.security.NoSuchAlgorithmException;
 import java.time.Instant;
@@ -37,7 +40,7 @@ class AuthServiceImplTest {
     @Mock
     private UserRepository userRepository;
     @Mock
-    private PasswordEncoder passwordEncoder;
+    private PasswordHashingExecutor passwordHasher;
     @Mock
     private UserMapper userMapper;
     @Mock
@@ -52,6 +55,8 @@ class AuthServiceImplTest {
     private ResetTokenServiceImpl resetTokenService;
     @Mock
     private BlacklistedTokenServiceImpl blacklistedTokenService;
+    @Mock
+    private CurrentUserResolver currentUserResolver;
 
     @BeforeEach
     void setUp() {
@@ -74,7 +79,7 @@ class AuthServiceImplTest {
         when(userRepository.existsByUsername(dto.getUsername())).thenReturn(false);
         when(userRepository.existsByEmail(dto.getEmail())).thenReturn(false);
         when(userMapper.toEntity(dto)).thenReturn(userEntity);
-        when(passwordEncoder.encode(dto.getPassword())).thenReturn("encodedPass");
+        when(passwordHasher.encode(dto.getPassword())).thenReturn("encodedPass");
         when(roleRepository.findByName(RoleName.USER)).thenReturn(Optional.of(role));
         when(userRepository.save(userEntity)).thenReturn(userEntity);
 
@@ -135,7 +140,7 @@ class AuthServiceImplTest {
         when(userRepository.existsByUsername(dto.getUsername())).thenReturn(false);
         when(userRepository.existsByEmail(anyString())).thenReturn(false);
         when(userMapper.toEntity(dto)).thenReturn(new UserEntity());
-        when(passwordEncoder.encode(dto.getPassword())).thenReturn("encodedPass");
+        when(passwordHasher.encode(dto.getPassword())).thenReturn("encodedPass");
         when(roleRepository.findByName(RoleName.USER)).thenReturn(Optional.empty());
 
         NotFoundException ex = assertThrows(NotFoundException.class, () -> authService.signUp(dto));
@@ -158,7 +163,7 @@ class AuthServiceImplTest {
                 );
 
         when(customUserDetailsService.loadUserByUsername(request.getEmail())).thenReturn(userDetails);
-        when(passwordEncoder.matches(request.getPassword(), userDetails.getPassword())).thenReturn(true);
+        when(passwordHasher.matches(request.getPassword(), userDetails.getPassword())).thenReturn(true);
 
         authService.signIn(request);
 
@@ -180,7 +185,7 @@ class AuthServiceImplTest {
                 );
 
         when(customUserDetailsService.loadUserByUsername(request.getEmail())).thenReturn(userDetails);
-        when(passwordEncoder.matches(request.getPassword(), userDetails.getPassword())).thenReturn(false);
+        when(passwordHasher.matches(request.getPassword(), userDetails.getPassword())).thenReturn(false);
 
         assertThrows(BadCredentialsException.class, () -> authService.signIn(request));
 
@@ -196,8 +201,12 @@ class AuthServiceImplTest {
         otpDto.setEmail("user@test.com");
         otpDto.setCode("1234");
 
+        UserEntity user = new UserEntity();
+        user.setEmail(otpDto.getEmail());
+
         when(otpService.checkOtp(otpDto.getEmail(), otpDto.getCode())).thenReturn(true);
-        when(jwtUtil.generateToken(otpDto.getEmail())).thenReturn("jwt-token");
+        when(userRepository.findWithRolesByEmail(otpDto.getEmail())).thenReturn(Optional.of(user));
+        when(jwtUtil.generateToken(user)).thenReturn("jwt-token");
 
         AuthResponse response = authService.verifyOtpForSignIn(otpDto);
         assertEquals("jwt-token", response.getToken());
@@ -213,14 +222,60 @@ class AuthServiceImplTest {
         assertThrows(BadCredentialsException.class, () -> authService.verifyOtpForSignIn(otpDto));
     }
 
+    // ==================== RESET PASSWORD ====================
+    @Test
+    void resetPassword_shouldUsePrincipalIdWithoutLoadingUser() {
+        Authentication authentication = mock(Authentication.class);
+        HttpServletRequest request = mock(HttpServletRequest.class);
+        ResetPasswordDto dto = new ResetPasswordDto();
+        dto.setOldPassword("old");
+        dto.setNewPassword("new");
+        dto.setConfirmNewPassword("new");
+
+        when(authentication.getName()).thenReturn("user@test.com");
+        when(currentUserResolver.resolve(authentication))
+                .thenReturn(new AuthenticatedUser(7L, "user@test.com", "ACTIVE", List.of("USER")));
+        when(userRepository.findPasswordById(7L)).thenReturn(Optional.of("old-hash"));
+        when(passwordHasher.matches("old", "old-hash")).thenReturn(true);
+        when(passwordHasher.encode("new")).thenReturn("new-hash");
+        when(jwtUtil.resolveToken(request)).thenReturn("token");
+        when(jwtUtil.parse("token")).thenReturn(
+                new ParsedToken("jti123", "user@test.com", Instant.now().plusSeconds(3600), null));
+
+        authService.resetPassword(request, authentication, dto);
+
+        verify(userRepository).updatePassword(7L, "new-hash");
+        verify(userRepository, never()).findByEmail(anyString());
+        verify(customUserDetailsService).evict("user@test.com");
+    }
+
+    @Test
+    void resetPassword_shouldRejectWrongOldPassword() {
+        Authentication authentication = mock(Authentication.class);
+        ResetPasswordDto dto = new ResetPasswordDto();
+        dto.setOldPassword("wrong");
+        dto.setNewPassword("new");
+        dto.setConfirmNewPassword("new");
+
+        when(authentication.getName()).thenReturn("user@test.com");
+        when(currentUserResolver.resolve(authentication))
+                .thenReturn(new AuthenticatedUser(7L, "user@test.com", "ACTIVE", List.of("USER")));
+        when(userRepository.findPasswordById(7L)).thenReturn(Optional.of("old-hash"));
+        when(passwordHasher.matches("wrong", "old-hash")).thenReturn(false);
+
+        assertThrows(PasswordMismatchException.class,
+                () -> authService.resetPassword(mock(HttpServletRequest.class), authentication, dto));
+        verify(userRepository, never()).updatePassword(anyLong(), anyString());
+    }
+
     // ==================== LOGOUT ====================
     @Test
     void logout_shouldBlacklistToken() {
         HttpServletRequest request = mock(HttpServletRequest.class);
 
         when(jwtUtil.resolveToken(request)).thenReturn("token");
-        when(jwtUtil.getJti("token")).thenReturn("jti123");
-        when(jwtUtil.getExpiration("token")).thenReturn(Instant.now().plusSeconds(3600));
+        when(jwtUtil.parse("token")).thenReturn(
+                new ParsedToken("jti123", "user@test.com", Instant.now().plusSeconds(3600), null));
 
         authService.logout(request);
 
@@ -0,0 +1,119 @@
+package org.example.taskproject;
+
+import org.example.taskproject.entity.BlacklistedToken;
+import org.example.taskproject.repository.BlacklistedTokenRepository;
+import org.example.taskproject.service.impl.BlacklistedTokenServiceImpl;
+import org.example.taskproject.util.ClusterJobLock;
+import org.example.taskproject.util.ExpiringTablePurger;
+import org.example.taskproject.util.JtiBlacklistCache;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.*;
+
+import java.time.Instant;
+import java.util.List;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+class BlacklistedTokenServiceImplTest {
+
+    @InjectMocks
+    private BlacklistedTokenServiceImpl blacklistedTokenService;
+
+    @Mock
+    private BlacklistedTokenRepository repository;
+
+    @Mock
+    private ExpiringTablePurger tablePurger;
+
+    @Mock
+    private ClusterJobLock jobLock;
+
+    @Spy
+    private JtiBlacklistCache blacklistCache = new JtiBlacklistCache(0.001, 100);
+
+    @BeforeEach
+    void setUp() {
+        MockitoAnnotations.openMocks(this);
+    }
+
+    @Test
+    void isBlacklisted_shouldSkipDatabase_whenBloomFilterSaysAbsent() {
+        when(repository.findByExpiryDateAfter(any())).thenReturn(List.of());
+        when(repository.count()).thenReturn(0L);
+        blacklistedTokenService.warmUp();
+
+        assertFalse(blacklistedTokenService.isBlacklisted("unknown-jti"));
+        verify(repository, never()).findByJti(anyString());
+    }
+
+    @Test
+    void isBlacklisted_shouldAnswerFromCache_forWarmedToken() {
+        BlacklistedToken token = new BlacklistedToken("jti123", Instant.now().plusSeconds(3600));
+        token.setId(1L);
+        when(repository.findByExpiryDateAfter(any())).thenReturn(List.of(token));
+        when(repository.count()).thenReturn(1L);
+        blacklistedTokenService.warmUp();
+
+        assertTrue(blacklistedTokenService.isBlacklisted("jti123"));
+        verify(repository, never()).findByJti(anyString());
+    }
+
+    @Test
+    void isBlacklisted_shouldFallBackToDatabase_beforeWarmUp() {
+        BlacklistedToken token = new BlacklistedToken("jti123", Instant.now().plusSeconds(3600));
+        when(repository.findByJti("jti123")).thenReturn(Optional.of(token));
+
+        assertTrue(blacklistedTokenService.isBlacklisted("jti123"));
+        verify(repository).findByJti("jti123");
+    }
+
+    @Test
+    void blacklist_shouldSaveAndCacheToken() {
+        when(repository.findByExpiryDateAfter(any())).thenReturn(List.of());
+        blacklistedTokenService.warmUp();
+
+        blacklistedTokenService.blacklist("jti123", Instant.now().plusSeconds(3600));
+
+        verify(repository).save(any(BlacklistedToken.class));
+        assertTrue(blacklistedTokenService.isBlacklisted("jti123"));
+        verify(repository, never()).findByJti(anyString());
+    }
+
+    @Test
+    void sync_shouldPickUpTokensCommittedBelowHighestSyncedId() {
+        BlacklistedToken later = new BlacklistedToken("later", Instant.now().plusSeconds(3600));
+        later.setId(5000L);
+        when(repository.findByExpiryDateAfter(any())).thenReturn(List.of(later));
+        when(repository.count()).thenReturn(1L);
+        blacklistedTokenService.warmUp();
+
+        BlacklistedToken earlier = new BlacklistedToken("earlier", Instant.now().plusSeconds(3600));
+        earlier.setId(4990L);
+        when(repository.findByIdGreaterThan(anyLong())).thenReturn(List.of(earlier, later));
+
+        blacklistedTokenService.sync();
+
+        verify(repository).findByIdGreaterThan(5000L - 1000L);
+        assertTrue(blacklistedTokenService.isBlacklisted("earlier"));
+        verify(repository, never()).findByJti(anyString());
+    }
+
+    @Test
+    void cleanup_shouldPruneExpiredTokensFromCache() {
+        when(repository.findByExpiryDateAfter(any())).thenReturn(List.of());
+        blacklistedTokenService.warmUp();
+        blacklistCache.put("expired", Instant.now().minusSeconds(1));
+        doAnswer(invocation -> {
+            invocation.<Runnable>getArgument(2).run();
+            return true;
+        }).when(jobLock).run(anyString(), any(), any());
+
+        blacklistedTokenService.cleanup();
+
+        verify(tablePurger).purge("blacklisted_tokens");
+        assertEquals(0, blacklistCache.size());
+    }
+}
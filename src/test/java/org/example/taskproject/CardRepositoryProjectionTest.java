@@ -0,0 +1,144 @@
+package org.example.taskproject;
+
+import org.example.taskproject.dto.CardAccessView;
+import org.example.taskproject.dto.CardView;
+import org.example.taskproject.entity.CardEntity;
+import org.example.taskproject.entity.RoleEntity;
+import org.example.taskproject.entity.UserEntity;
+import org.example.taskproject.enums.CardStatus;
+import org.example.taskproject.enums.RoleName;
+import org.example.taskproject.enums.UserStatus;
+import org.example.taskproject.repository.CardRepository;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DataJpaTest(properties = {
+        "spring.liquibase.enabled=false",
+        "spring.jpa.properties.hibernate.generate_statistics=true"
+})
+class CardRepositoryProjectionTest {
+
+    @Autowired
+    private CardRepository cardRepository;
+    @Autowired
+    private TestEntityManager entityManager;
+
+    private Statistics statistics;
+    private Long userId;
+
+    @BeforeEach
+    void setUp() {
+        RoleEntity role = new RoleEntity();
+        role.setName(RoleName.USER);
+        entityManager.persist(role);
+
+        UserEntity user = new UserEntity();
+        user.setUsername("user");
+        user.setEmail("user@test.com");
+        user.setPassword("password");
+        user.setUserStatus(UserStatus.ACTIVE);
+        user.setRoles(List.of(role));
+        entityManager.persist(user);
+        userId = user.getId();
+
+        for (int i = 0; i < 6; i++) {
+            CardEntity card = new CardEntity();
+            card.setCardNumber("400000000000000" + i);
+            card.setUser(user);
+            card.setExpirationDate(LocalDate.of(2028, 1, 1).plusMonths(i));
+            card.setCardStatus(CardStatus.ACTIVE);
+            card.setBalance(BigDecimal.TEN);
+            entityManager.persist(card);
+        }
+
+        entityManager.flush();
+        entityManager.clear();
+
+        statistics = entityManager.getEntityManager().getEntityManagerFactory()
+                .unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+    }
+
+    @Test
+    void findViewsByUserId_shouldLoadPageAndCountInTwoStatements() {
+        Page<CardView> page = cardRepository.findViewsByUserId(userId,
+                PageRequest.of(0, 3, Sort.by("expirationDate").descending()));
+
+        assertEquals(3, page.getContent().size());
+        assertEquals(6, page.getTotalElements());
+        assertEquals("user@test.com", page.getContent().get(0).getEmail());
+        assertEquals(LocalDate.of(2028, 6, 1), page.getContent().get(0).getExpirationDate());
+        assertEquals(2, statistics.getPrepareStatementCount());
+        assertEquals(0, statistics.getEntityLoadCount());
+    }
+
+    @Test
+    void findAllViews_shouldNotLoadUsersOrRoles() {
+        Page<CardView> page = cardRepository.findAllViews(PageRequest.of(0, 3, Sort.by("id").descending()));
+
+        assertEquals(3, page.getContent().size());
+        assertEquals(2, statistics.getPrepareStatementCount());
+        assertEquals(0, statistics.getEntityLoadCount());
+        assertEquals(0, statistics.getCollectionLoadCount());
+    }
+
+    @Test
+    void findUserCards_shouldLoadKeysetPageInOneStatement() {
+        List<CardView> rows = cardRepository.findUserCards(userId, PageRequest.ofSize(4));
+
+        assertEquals(4, rows.size());
+        assertEquals(1, statistics.getPrepareStatementCount());
+        assertEquals(0, statistics.getEntityLoadCount());
+    }
+
+    @Test
+    void findAccessByCardNumber_shouldAuthorizeInOneStatement() {
+        CardAccessView card = cardRepository.findAccessByCardNumber("4000000000000002").orElseThrow();
+
+        assertEquals("user@test.com", card.getOwnerEmail());
+        assertEquals(CardStatus.ACTIVE, card.getCardStatus());
+        assertEquals(0, BigDecimal.TEN.compareTo(card.getBalance()));
+        assertEquals(1, statistics.getPrepareStatementCount());
+        assertEquals(0, statistics.getEntityLoadCount());
+    }
+
+    @Test
+    void findAccessByCardNumberIn_shouldLoadBothTransferCardsInOneStatement() {
+        List<CardAccessView> cards = cardRepository.findAccessByCardNumberIn(
+                List.of("4000000000000001", "4000000000000004"));
+
+        assertEquals(2, cards.size());
+        assertEquals(1, statistics.getPrepareStatementCount());
+        assertEquals(0, statistics.getEntityLoadCount());
+    }
+
+    @Test
+    void entityLookup_shouldCostMoreStatementsThanAccessProjection() {
+        CardEntity card = cardRepository.findByCardNumber("4000000000000002").orElseThrow();
+        card.getUser().getRoles().size();
+
+        assertTrue(statistics.getPrepareStatementCount() > 1);
+    }
+
+    @Test
+    void entityPage_shouldCostMoreStatementsThanProjection() {
+        Page<CardEntity> page = cardRepository.findAll(PageRequest.of(0, 3, Sort.by("id").descending()));
+        page.getContent().forEach(card -> card.getUser().getRoles().size());
+
+        assertTrue(statistics.getPrepareStatementCount() > 2);
+    }
+}
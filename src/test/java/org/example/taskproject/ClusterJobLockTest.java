@@ -0,0 +1,70 @@
+package org.example.taskproject;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.example.taskproject.util.ClusterJobLock;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+class ClusterJobLockTest {
+
+    @Mock
+    private JdbcTemplate jdbcTemplate;
+
+    private SimpleMeterRegistry meterRegistry;
+    private ClusterJobLock jobLock;
+    private final AtomicInteger runs = new AtomicInteger();
+
+    @BeforeEach
+    void setUp() {
+        MockitoAnnotations.openMocks(this);
+        meterRegistry = new SimpleMeterRegistry();
+        jobLock = new ClusterJobLock(jdbcTemplate, meterRegistry, "node-1");
+    }
+
+    @Test
+    void run_shouldExecuteTaskAndRecordSuccess_whenLockClaimed() {
+        when(jdbcTemplate.update(contains("INSERT INTO scheduler_locks"), eq(3600.0), eq("otp-cleanup"), eq("node-1"), eq(3600.0)))
+                .thenReturn(1);
+
+        assertTrue(jobLock.run("otp-cleanup", Duration.ofHours(1), runs::incrementAndGet));
+
+        assertEquals(1, runs.get());
+        verify(jdbcTemplate).update(contains("last_success_at = now()"), eq("otp-cleanup"));
+        assertEquals(1, meterRegistry.timer("scheduler.job.duration", "job", "otp-cleanup", "outcome", "success").count());
+        assertEquals(1, meterRegistry.timer("scheduler.job.lock.wait", "job", "otp-cleanup").count());
+        assertTrue(meterRegistry.get("scheduler.job.last.success").tag("job", "otp-cleanup").gauge().value() > 0);
+    }
+
+    @Test
+    void run_shouldSkipTask_whenAnotherNodeHoldsLock() {
+        when(jdbcTemplate.update(contains("INSERT INTO scheduler_locks"), any(), any(), any(), any())).thenReturn(0);
+
+        assertFalse(jobLock.run("otp-cleanup", Duration.ofHours(1), runs::incrementAndGet));
+
+        assertEquals(0, runs.get());
+        assertEquals(1.0, meterRegistry.counter("scheduler.job.skipped", "job", "otp-cleanup").count());
+    }
+
+    @Test
+    void run_shouldReleaseLockAndRethrow_whenTaskFails() {
+        when(jdbcTemplate.update(contains("INSERT INTO scheduler_locks"), any(), any(), any(), any())).thenReturn(1);
+
+        assertThrows(IllegalStateException.class, () -> jobLock.run("otp-cleanup", Duration.ofHours(1), () -> {
+            throw new IllegalStateException("boom");
+        }));
+
+        verify(jdbcTemplate).update(contains("lock_until = '-infinity'"), eq("otp-cleanup"), eq("node-1"));
+        verify(jdbcTemplate, never()).update(contains("last_success_at"), any(Object[].class));
+        assertEquals(1, meterRegistry.timer("scheduler.job.duration", "job", "otp-cleanup", "outcome", "failure").count());
+    }
+}
@@ -0,0 +1,71 @@
+package org.example.taskproject;
+
+import org.example.taskproject.entity.RoleEntity;
+import org.example.taskproject.entity.UserEntity;
+import org.example.taskproject.enums.RoleName;
+import org.example.taskproject.enums.UserStatus;
+import org.example.taskproject.exception.NotFoundException;
+import org.example.taskproject.repository.UserRepository;
+import org.example.taskproject.util.AuthenticatedUser;
+import org.example.taskproject.util.CurrentUserResolver;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+
+import java.util.List;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+class CurrentUserResolverTest {
+
+    @Mock
+    private UserRepository userRepository;
+
+    @InjectMocks
+    private CurrentUserResolver currentUserResolver;
+
+    @BeforeEach
+    void setUp() {
+        MockitoAnnotations.openMocks(this);
+    }
+
+    @Test
+    void resolve_shouldReturnJwtPrincipalWithoutQuery() {
+        AuthenticatedUser principal = new AuthenticatedUser(1L, "user@test.com", "ACTIVE", List.of("USER"));
+        var authentication = new UsernamePasswordAuthenticationToken(principal, null, List.of());
+
+        assertSame(principal, currentUserResolver.resolve(authentication));
+        assertEquals("user@test.com", authentication.getName());
+        verifyNoInteractions(userRepository);
+    }
+
+    @Test
+    void resolve_shouldFallBackToLookup_forOtherPrincipals() {
+        RoleEntity role = new RoleEntity();
+        role.setName(RoleName.USER);
+        UserEntity user = new UserEntity();
+        user.setId(3L);
+        user.setEmail("user@test.com");
+        user.setUserStatus(UserStatus.ACTIVE);
+        user.setRoles(List.of(role));
+        when(userRepository.findWithRolesByEmail("user@test.com")).thenReturn(Optional.of(user));
+
+        AuthenticatedUser resolved = currentUserResolver.resolve(
+                new UsernamePasswordAuthenticationToken("user@test.com", null, List.of()));
+
+        assertEquals(new AuthenticatedUser(3L, "user@test.com", "ACTIVE", List.of("USER")), resolved);
+    }
+
+    @Test
+    void resolve_shouldThrowNotFound_whenUserMissing() {
+        when(userRepository.findWithRolesByEmail("gone@test.com")).thenReturn(Optional.empty());
+
+        assertThrows(NotFoundException.class, () -> currentUserResolver.resolve(
+                new UsernamePasswordAuthenticationToken("gone@test.com", null, List.of())));
+    }
+}
@@ -0,0 +1,83 @@
+package org.example.taskproject;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.example.taskproject.entity.RoleEntity;
+import org.example.taskproject.entity.UserEntity;
+import org.example.taskproject.enums.RoleName;
+import org.example.taskproject.repository.UserRepository;
+import org.example.taskproject.service.impl.CustomUserDetailsService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.security.core.userdetails.UsernameNotFoundException;
+
+import java.util.List;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+class CustomUserDetailsServiceTest {
+
+    @Mock
+    private UserRepository userRepository;
+
+    private SimpleMeterRegistry meterRegistry;
+    private CustomUserDetailsService userDetailsService;
+
+    @BeforeEach
+    void setUp() {
+        MockitoAnnotations.openMocks(this);
+        meterRegistry = new SimpleMeterRegistry();
+        userDetailsService = new CustomUserDetailsService(userRepository, meterRegistry, 100, 60);
+    }
+
+    @Test
+    void loadUserByUsername_shouldServeRepeatedLookupsFromCache() {
+        when(userRepository.findWithRolesByEmail("user@test.com")).thenReturn(Optional.of(user()));
+
+        UserDetails first = userDetailsService.loadUserByUsername("user@test.com");
+        UserDetails second = userDetailsService.loadUserByUsername("user@test.com");
+
+        assertEquals("encodedPass", second.getPassword());
+        assertEquals(first.getAuthorities(), second.getAuthorities());
+        verify(userRepository, times(1)).findWithRolesByEmail("user@test.com");
+        assertEquals(1.0, meterRegistry.get("cache.gets").tag("cache", "userDetails").tag("result", "hit")
+                .functionCounter().count());
+    }
+
+    @Test
+    void evict_shouldForceReload() {
+        when(userRepository.findWithRolesByEmail("user@test.com")).thenReturn(Optional.of(user()));
+
+        userDetailsService.loadUserByUsername("user@test.com");
+        userDetailsService.evict("user@test.com");
+        userDetailsService.loadUserByUsername("user@test.com");
+
+        verify(userRepository, times(2)).findWithRolesByEmail("user@test.com");
+    }
+
+    @Test
+    void loadUserByUsername_shouldNotCacheMissingUser() {
+        when(userRepository.findWithRolesByEmail("missing@test.com")).thenReturn(Optional.empty());
+
+        assertThrows(UsernameNotFoundException.class,
+                () -> userDetailsService.loadUserByUsername("missing@test.com"));
+        assertThrows(UsernameNotFoundException.class,
+                () -> userDetailsService.loadUserByUsername("missing@test.com"));
+        verify(userRepository, times(2)).findWithRolesByEmail("missing@test.com");
+    }
+
+    private UserEntity user() {
+        RoleEntity role = new RoleEntity();
+        role.setName(RoleName.USER);
+
+        UserEntity user = new UserEntity();
+        user.setEmail("user@test.com");
+        user.setPassword("encodedPass");
+        user.setRoles(List.of(role));
+        return user;
+    }
+}
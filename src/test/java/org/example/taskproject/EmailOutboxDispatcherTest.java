@@ -0,0 +1,149 @@
+package org.example.taskproject;
+
+import com.icegreen.greenmail.junit5.GreenMailExtension;
+import com.icegreen.greenmail.util.ServerSetupTest;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.mail.internet.MimeMessage;
+import org.example.taskproject.entity.EmailOutbox;
+import org.example.taskproject.repository.EmailOutboxRepository;
+import org.example.taskproject.util.EmailOutboxDispatcher;
+import org.example.taskproject.util.SmtpTransportPool;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.RegisterExtension;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+import org.springframework.mail.javamail.JavaMailSenderImpl;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.io.IOException;
+import java.net.ServerSocket;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+class EmailOutboxDispatcherTest {
+
+    @RegisterExtension
+    static GreenMailExtension greenMail = new GreenMailExtension(ServerSetupTest.SMTP);
+
+    @Mock
+    private EmailOutboxRepository repository;
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    @BeforeEach
+    void setUp() {
+        MockitoAnnotations.openMocks(this);
+    }
+
+    @Test
+    void dispatch_shouldSendClaimedEmailsAndMarkThemSent() throws Exception {
+        Instant now = Instant.now();
+        List<EmailOutbox> batch = List.of(email(1L, "a@test.com", 0), email(2L, "b@test.com", 0), email(3L, "c@test.com", 0));
+        when(repository.claimDue(any(), eq(50))).thenReturn(batch);
+
+        dispatcher(greenMail.getSmtp().getPort()).dispatch();
+
+        MimeMessage[] received = greenMail.getReceivedMessages();
+        assertEquals(3, received.length);
+        assertEquals("Your OTP Code", received[0].getSubject());
+        verify(repository).markSent(eq(List.of(1L, 2L, 3L)), any());
+        batch.forEach(email -> assertTrue(email.getNextAttemptAt().isAfter(now.plusSeconds(30))));
+    }
+
+    @Test
+    void dispatch_shouldScheduleRetryWithBackoff_whenSmtpUnavailable() throws Exception {
+        when(repository.claimDue(any(), anyInt())).thenReturn(List.of(email(1L, "a@test.com", 0)));
+        Instant before = Instant.now();
+
+        dispatcher(unusedPort()).dispatch();
+
+        verify(repository).markRetry(eq(1L), argThat(next -> next.isAfter(before.plusMillis(400))), any());
+        verify(repository, never()).markSent(any(), any());
+        verify(repository, never()).markFailed(anyLong(), any());
+    }
+
+    @Test
+    void dispatch_shouldMarkFailed_afterMaxAttempts() throws Exception {
+        when(repository.claimDue(any(), anyInt())).thenReturn(List.of(email(1L, "a@test.com", 2)));
+
+        dispatcher(unusedPort()).dispatch();
+
+        verify(repository).markFailed(eq(1L), any());
+        verify(repository, never()).markRetry(anyLong(), any(), any());
+    }
+
+    @Test
+    void dispatch_shouldExpireClaimedRowsInsteadOfSendingThem() throws Exception {
+        EmailOutbox stale = email(1L, "a@test.com", 1);
+        stale.setExpiresAt(Instant.now().minusSeconds(1));
+        when(repository.claimDue(any(), anyInt())).thenReturn(List.of(stale, email(2L, "b@test.com", 0)));
+
+        dispatcher(greenMail.getSmtp().getPort()).dispatch();
+
+        assertEquals(1, greenMail.getReceivedMessages().length);
+        verify(repository).markExpired(List.of(1L));
+        verify(repository).markSent(eq(List.of(2L)), any());
+    }
+
+    @Test
+    void dispatch_shouldExpireInsteadOfRetrying_whenCodeDiesBeforeNextAttempt() throws Exception {
+        EmailOutbox email = email(1L, "a@test.com", 0);
+        email.setExpiresAt(Instant.now().plusMillis(200));
+        when(repository.claimDue(any(), anyInt())).thenReturn(List.of(email));
+
+        dispatcher(unusedPort()).dispatch();
+
+        verify(repository).markExpired(List.of(1L));
+        verify(repository, never()).markRetry(anyLong(), any(), any());
+    }
+
+    @Test
+    void dispatch_shouldSendInMicroBatchesOverPooledSessions() throws Exception {
+        List<EmailOutbox> batch = List.of(email(1L, "a@test.com", 0), email(2L, "b@test.com", 0),
+                email(3L, "c@test.com", 0), email(4L, "d@test.com", 0), email(5L, "e@test.com", 0));
+        when(repository.claimDue(any(), anyInt())).thenReturn(batch);
+
+        EmailOutboxDispatcher dispatcher = new EmailOutboxDispatcher(repository, pool(greenMail.getSmtp().getPort()),
+                transactionManager, meterRegistry, 50, 1, 2, 3, 60000, 1000, 10000, 24);
+        dispatcher.dispatch();
+        dispatcher.dispatch();
+
+        assertEquals(10, greenMail.getReceivedMessages().length);
+        assertEquals(1.0, meterRegistry.counter("email.smtp.sessions.opened").count());
+        assertEquals(6, meterRegistry.timer("email.send.latency", "outcome", "sent").count());
+        assertEquals(0.0, meterRegistry.get("email.queue.depth").gauge().value());
+    }
+
+    private EmailOutboxDispatcher dispatcher(int port) {
+        return new EmailOutboxDispatcher(repository, pool(port), transactionManager, meterRegistry,
+                50, 4, 10, 3, 60000, 1000, 10000, 24);
+    }
+
+    private SmtpTransportPool pool(int port) {
+        JavaMailSenderImpl mailSender = new JavaMailSenderImpl();
+        mailSender.setHost("localhost");
+        mailSender.setPort(port);
+        return new SmtpTransportPool(mailSender, meterRegistry, 4, 30000);
+    }
+
+    private static EmailOutbox email(Long id, String recipient, int attempts) {
+        EmailOutbox email = new EmailOutbox(recipient, "Your OTP Code", "Your OTP code is: 123456", Instant.now(),
+                Duration.ofMinutes(3));
+        email.setId(id);
+        email.setAttempts(attempts);
+        return email;
+    }
+
+    private static int unusedPort() throws IOException {
+        try (ServerSocket socket = new ServerSocket(0)) {
+            return socket.getLocalPort();
+        }
+    }
+}
@@ -0,0 +1,34 @@
+package org.example.taskproject;
+
+import io.zonky.test.db.AutoConfigureEmbeddedDatabase;
+import io.zonky.test.db.AutoConfigureEmbeddedDatabase.DatabaseProvider;
+import io.zonky.test.db.AutoConfigureEmbeddedDatabase.DatabaseType;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.annotation.Import;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Full application context on an embedded Postgres built by the Liquibase changelog, with all
+ * JDBC traffic going through {@link SqlRecordingConfiguration#RECORDER}. Test classes sharing
+ * this annotation share one cached context and database.
+ */
+@Target(ElementType.TYPE)
+@Retention(RetentionPolicy.RUNTIME)
+@SpringBootTest(properties = {
+        "spring.datasource.password=unused",
+        "spring.mail.host=localhost",
+        "spring.mail.username=test",
+        "spring.mail.password=test",
+        "security.password-hashing.bcrypt-strength=4",
+        "email.outbox.poll-interval-ms=600000"
+})
+@AutoConfigureMockMvc
+@AutoConfigureEmbeddedDatabase(type = DatabaseType.POSTGRES, provider = DatabaseProvider.ZONKY)
+@Import(SqlRecordingConfiguration.class)
+@interface EmbeddedPostgresTest {
+}
@@ -0,0 +1,452 @@
+package org.example.taskproject;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.example.taskproject.SqlStatementRecorder.SqlBudget;
+import org.example.taskproject.dto.AuthRequest;
+import org.example.taskproject.dto.BatchTransferRequest;
+import org.example.taskproject.dto.BulkCardRequest;
+import org.example.taskproject.dto.CardIssueRequest;
+import org.example.taskproject.dto.CardRequest;
+import org.example.taskproject.dto.ForgotPasswordDto;
+import org.example.taskproject.dto.OtpDto;
+import org.example.taskproject.dto.ResetPasswordDto;
+import org.example.taskproject.dto.TransferRequest;
+import org.example.taskproject.dto.UserDtoRequest;
+import org.example.taskproject.entity.CardEntity;
+import org.example.taskproject.entity.CardTransaction;
+import org.example.taskproject.entity.PasswordResetToken;
+import org.example.taskproject.entity.RoleEntity;
+import org.example.taskproject.entity.UserEntity;
+import org.example.taskproject.enums.CardStatus;
+import org.example.taskproject.enums.LedgerEntryType;
+import org.example.taskproject.enums.RoleName;
+import org.example.taskproject.enums.UserStatus;
+import org.example.taskproject.repository.CardRepository;
+import org.example.taskproject.repository.CardTransactionRepository;
+import org.example.taskproject.repository.PasswordResetTokenRepository;
+import org.example.taskproject.repository.RoleRepository;
+import org.example.taskproject.repository.UserRepository;
+import org.example.taskproject.util.JwtUtil;
+import org.example.taskproject.util.OtpStore;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.request.MockHttpServletRequestBuilder;
+
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Runs every controller endpoint against the Liquibase schema on an embedded Postgres and holds
+ * each one to a budget of statements, fetched rows and statement time. Budgets are upper bounds:
+ * authenticated requests include the token version lookup a cold cache costs.
+ */
+@EmbeddedPostgresTest
+class EndpointSqlBudgetTest {
+
+    private static final SqlStatementRecorder RECORDER = SqlRecordingConfiguration.RECORDER;
+    private static final AtomicInteger SEQUENCE = new AtomicInteger();
+    private static final String PASSWORD = "password1";
+
+    @Autowired
+    private MockMvc mockMvc;
+    @Autowired
+    private ObjectMapper objectMapper;
+    @Autowired
+    private UserRepository userRepository;
+    @Autowired
+    private RoleRepository roleRepository;
+    @Autowired
+    private CardRepository cardRepository;
+    @Autowired
+    private CardTransactionRepository cardTransactionRepository;
+    @Autowired
+    private PasswordResetTokenRepository passwordResetTokenRepository;
+    @Autowired
+    private PasswordEncoder passwordEncoder;
+    @Autowired
+    private JwtUtil jwtUtil;
+    @Autowired
+    private OtpStore otpStore;
+
+    @Test
+    void getCards() throws Exception {
+        UserEntity user = newUser(RoleName.USER, UserStatus.ACTIVE);
+        for (int i = 0; i < 3; i++) {
+            newCard(user, BigDecimal.TEN);
+        }
+
+        expectWithin("GET /api/user", SqlBudget.of(2, 4),
+                get("/api/user").param("size", "10").header(HttpHeaders.AUTHORIZATION, bearer(user)));
+    }
+
+    @Test
+    void scrollCards() throws Exception {
+        UserEntity user = newUser(RoleName.USER, UserStatus.ACTIVE);
+        for (int i = 0; i < 3; i++) {
+            newCard(user, BigDecimal.TEN);
+        }
+
+        expectWithin("GET /api/user/scroll", SqlBudget.of(2, 4),
+                get("/api/user/scroll").param("size", "2").header(HttpHeaders.AUTHORIZATION, bearer(user)));
+    }
+
+    @Test
+    void getBalance() throws Exception {
+        UserEntity user = newUser(RoleName.USER, UserStatus.ACTIVE);
+        CardEntity card = newCard(user, BigDecimal.TEN);
+
+        expectWithin("GET /api/user/{cardNumber}/balance", SqlBudget.of(2, 2),
+                get("/api/user/{cardNumber}/balance", card.getCardNumber())
+                        .header(HttpHeaders.AUTHORIZATION, bearer(user)));
+    }
+
+    @Test
+    void getTransactions() throws Exception {
+        UserEntity user = newUser(RoleName.USER, UserStatus.ACTIVE);
+        CardEntity card = newCard(user, BigDecimal.TEN);
+        CardEntity other = newCard(user, BigDecimal.TEN);
+        Instant now = Instant.now().truncatedTo(ChronoUnit.MICROS);
+        for (int i = 0; i < 3; i++) {
+            cardTransactionRepository.save(new CardTransaction(null, UUID.randomUUID(), card.getId(), other.getId(),
+                    LedgerEntryType.DEBIT, BigDecimal.ONE, now.minusSeconds(i)));
+        }
+
+        expectWithin("GET /api/user/{cardNumber}/transactions", SqlBudget.of(3, 5),
+                get("/api/user/{cardNumber}/transactions", card.getCardNumber()).param("size", "2")
+                        .header(HttpHeaders.AUTHORIZATION, bearer(user)));
+    }
+
+    @Test
+    void transfer() throws Exception {
+        UserEntity user = newUser(RoleName.USER, UserStatus.ACTIVE);
+        CardEntity from = newCard(user, BigDecimal.TEN);
+        CardEntity to = newCard(user, BigDecimal.ZERO);
+
+        expectWithin("POST /api/user/transfer", SqlBudget.of(7, 5),
+                post("/api/user/transfer")
+                        .param("cardNumberFrom", from.getCardNumber())
+                        .param("cardNumberTo", to.getCardNumber())
+                        .param("amount", "5")
+                        .header(HttpHeaders.AUTHORIZATION, bearer(user)));
+    }
+
+    @Test
+    void batchTransfer() throws Exception {
+        UserEntity user = newUser(RoleName.USER, UserStatus.ACTIVE);
+        CardEntity first = newCard(user, BigDecimal.TEN);
+        CardEntity second = newCard(user, BigDecimal.TEN);
+        CardEntity third = newCard(user, BigDecimal.TEN);
+        BatchTransferRequest request = new BatchTransferRequest(List.of(
+                new TransferRequest(first.getCardNumber(), second.getCardNumber(), BigDecimal.ONE),
+                new TransferRequest(second.getCardNumber(), third.getCardNumber(), BigDecimal.TWO)));
+
+        // Token version, the card lock, the owner projection, two ledger id fetches, the
+        // ledger insert batch and the card update batch.
+        expectWithin("POST /api/user/transfer/batch", SqlBudget.of(7, 9),
+                json(post("/api/user/transfer/batch"), request).header(HttpHeaders.AUTHORIZATION, bearer(user)));
+    }
+
+    @Test
+    void requestBlockCard() throws Exception {
+        UserEntity user = newUser(RoleName.USER, UserStatus.ACTIVE);
+        CardEntity card = newCard(user, BigDecimal.TEN);
+
+        expectWithin("POST /api/user/{cardNumber}/block", SqlBudget.of(3, 2),
+                post("/api/user/{cardNumber}/block", card.getCardNumber())
+                        .header(HttpHeaders.AUTHORIZATION, bearer(user)));
+    }
+
+    @Test
+    void adminCreateCard() throws Exception {
+        UserEntity admin = newUser(RoleName.ADMIN, UserStatus.ACTIVE);
+        UserEntity owner = newUser(RoleName.USER, UserStatus.ACTIVE);
+
+        expectWithin("POST /api/admin/cards/create-card/{id}", SqlBudget.of(4, 3),
+                json(post("/api/admin/cards/create-card/{id}", owner.getId()),
+                        new CardRequest(nextCardNumber(), BigDecimal.TEN))
+                        .header(HttpHeaders.AUTHORIZATION, bearer(admin)));
+    }
+
+    @Test
+    void adminCreateCards() throws Exception {
+        UserEntity admin = newUser(RoleName.ADMIN, UserStatus.ACTIVE);
+        UserEntity first = newUser(RoleName.USER, UserStatus.ACTIVE);
+        UserEntity second = newUser(RoleName.USER, UserStatus.ACTIVE);
+        List<CardIssueRequest> cards = new ArrayList<>();
+        for (int i = 0; i < 20; i++) {
+            UserEntity owner = i % 2 == 0 ? first : second;
+            cards.add(new CardIssueRequest(owner.getId(), nextCardNumber(), BigDecimal.TEN));
+        }
+
+        // Owners in one query, at most one nextval, and all 20 rows in a single insert batch.
+        expectWithin("POST /api/admin/cards/create-cards", SqlBudget.of(4, 4),
+                json(post("/api/admin/cards/create-cards"), new BulkCardRequest(cards))
+                        .header(HttpHeaders.AUTHORIZATION, bearer(admin)));
+    }
+
+    @Test
+    void adminBlockCard() throws Exception {
+        UserEntity admin = newUser(RoleName.ADMIN, UserStatus.ACTIVE);
+        CardEntity card = newCard(newUser(RoleName.USER, UserStatus.ACTIVE), BigDecimal.TEN);
+
+        expectWithin("PATCH /api/admin/cards/block-card/{id}", SqlBudget.of(3, 2),
+                patch("/api/admin/cards/block-card/{id}", card.getId())
+                        .header(HttpHeaders.AUTHORIZATION, bearer(admin)));
+    }
+
+    @Test
+    void adminDeleteCard() throws Exception {
+        UserEntity admin = newUser(RoleName.ADMIN, UserStatus.ACTIVE);
+        CardEntity card = newCard(newUser(RoleName.USER, UserStatus.ACTIVE), BigDecimal.TEN);
+
+        expectWithin("DELETE /api/admin/cards/delete-card/{id}", SqlBudget.of(3, 2),
+                delete("/api/admin/cards/delete-card/{id}", card.getId())
+                        .header(HttpHeaders.AUTHORIZATION, bearer(admin)));
+    }
+
+    @Test
+    void adminGetCards() throws Exception {
+        UserEntity admin = newUser(RoleName.ADMIN, UserStatus.ACTIVE);
+        UserEntity owner = newUser(RoleName.USER, UserStatus.ACTIVE);
+        for (int i = 0; i < 3; i++) {
+            newCard(owner, BigDecimal.TEN);
+        }
+
+        expectWithin("GET /api/admin/cards/cards", SqlBudget.of(3, 4),
+                get("/api/admin/cards/cards").param("size", "2").header(HttpHeaders.AUTHORIZATION, bearer(admin)));
+    }
+
+    @Test
+    void adminScrollCards() throws Exception {
+        UserEntity admin = newUser(RoleName.ADMIN, UserStatus.ACTIVE);
+        UserEntity owner = newUser(RoleName.USER, UserStatus.ACTIVE);
+        for (int i = 0; i < 3; i++) {
+            newCard(owner, BigDecimal.TEN);
+        }
+
+        expectWithin("GET /api/admin/cards/cards/scroll", SqlBudget.of(2, 4),
+                get("/api/admin/cards/cards/scroll").param("size", "2")
+                        .header(HttpHeaders.AUTHORIZATION, bearer(admin)));
+    }
+
+    @Test
+    void adminCreateAdmin() throws Exception {
+        UserEntity admin = newUser(RoleName.ADMIN, UserStatus.ACTIVE);
+        int n = SEQUENCE.incrementAndGet();
+
+        expectWithin("POST /api/admin/users/create", SqlBudget.of(7, 4),
+                json(post("/api/admin/users/create"),
+                        new UserDtoRequest("admin" + n, PASSWORD, PASSWORD, "admin" + n + "@test.com"))
+                        .header(HttpHeaders.AUTHORIZATION, bearer(admin)));
+    }
+
+    @Test
+    void adminImportUsers() throws Exception {
+        UserEntity admin = newUser(RoleName.ADMIN, UserStatus.ACTIVE);
+        UserEntity existing = newUser(RoleName.USER, UserStatus.ACTIVE);
+        String prefix = "import" + SEQUENCE.incrementAndGet();
+        String csv = "username,email,password\n"
+                + prefix + "a," + prefix + "a@test.com," + PASSWORD + "\n"
+                + prefix + "b," + prefix + "b@test.com," + PASSWORD + "\n"
+                + prefix + "c," + existing.getEmail() + "," + PASSWORD + "\n";
+
+        // Role, existing usernames and emails, nextval, staging table and the insert; COPY is not a JDBC statement.
+        expectWithin("POST /api/admin/users/import", SqlBudget.of(8, 4),
+                post("/api/admin/users/import").contentType("text/csv").content(csv)
+                        .header(HttpHeaders.AUTHORIZATION, bearer(admin)));
+
+        UserEntity imported = userRepository.findWithRolesByEmail(prefix + "a@test.com").orElseThrow();
+        assertEquals(List.of(RoleName.USER), imported.getRoles().stream().map(RoleEntity::getName).toList());
+        assertTrue(passwordEncoder.matches(PASSWORD, imported.getPassword()));
+        assertTrue(userRepository.existsByEmail(prefix + "b@test.com"));
+        assertFalse(userRepository.existsByUsername(prefix + "c"));
+    }
+
+    @Test
+    void adminBlockUser() throws Exception {
+        UserEntity admin = newUser(RoleName.ADMIN, UserStatus.ACTIVE);
+        UserEntity user = newUser(RoleName.USER, UserStatus.ACTIVE);
+
+        expectWithin("PUT /api/admin/users/{id}/block", SqlBudget.of(3, 2),
+                put("/api/admin/users/{id}/block", user.getId()).header(HttpHeaders.AUTHORIZATION, bearer(admin)));
+    }
+
+    @Test
+    void adminActivateUser() throws Exception {
+        UserEntity admin = newUser(RoleName.ADMIN, UserStatus.ACTIVE);
+        UserEntity user = newUser(RoleName.USER, UserStatus.BLOCKED);
+
+        expectWithin("PUT /api/admin/users/{id}/activate", SqlBudget.of(3, 2),
+                put("/api/admin/users/{id}/activate", user.getId()).header(HttpHeaders.AUTHORIZATION, bearer(admin)));
+    }
+
+    @Test
+    void adminDeleteUser() throws Exception {
+        UserEntity admin = newUser(RoleName.ADMIN, UserStatus.ACTIVE);
+        UserEntity user = newUser(RoleName.USER, UserStatus.ACTIVE);
+
+        expectWithin("DELETE /api/admin/users/{id}", SqlBudget.of(3, 2),
+                delete("/api/admin/users/{id}", user.getId()).header(HttpHeaders.AUTHORIZATION, bearer(admin)));
+    }
+
+    @Test
+    void adminGetAllUsers() throws Exception {
+        UserEntity admin = newUser(RoleName.ADMIN, UserStatus.ACTIVE);
+        newUser(RoleName.USER, UserStatus.ACTIVE);
+        newUser(RoleName.USER, UserStatus.ACTIVE);
+
+        expectWithin("GET /api/admin/users", SqlBudget.of(3, 4),
+                get("/api/admin/users").param("size", "2").header(HttpHeaders.AUTHORIZATION, bearer(admin)));
+    }
+
+    @Test
+    void adminScrollUsers() throws Exception {
+        UserEntity admin = newUser(RoleName.ADMIN, UserStatus.ACTIVE);
+        newUser(RoleName.USER, UserStatus.ACTIVE);
+        newUser(RoleName.USER, UserStatus.ACTIVE);
+
+        expectWithin("GET /api/admin/users/scroll", SqlBudget.of(2, 4),
+                get("/api/admin/users/scroll").param("size", "2").header(HttpHeaders.AUTHORIZATION, bearer(admin)));
+    }
+
+    @Test
+    void signUp() throws Exception {
+        roleOf(RoleName.USER);
+        int n = SEQUENCE.incrementAndGet();
+
+        expectWithin("POST /api/auth/sign-up", SqlBudget.of(6, 3),
+                json(post("/api/auth/sign-up"),
+                        new UserDtoRequest("signup" + n, PASSWORD, PASSWORD, "signup" + n + "@test.com")));
+    }
+
+    @Test
+    void signIn() throws Exception {
+        UserEntity user = newUser(RoleName.USER, UserStatus.ACTIVE);
+
+        expectWithin("POST /api/auth/sign-in", SqlBudget.of(5, 3),
+                json(post("/api/auth/sign-in"), new AuthRequest(user.getEmail(), PASSWORD)));
+    }
+
+    @Test
+    void verifyOtp() throws Exception {
+        UserEntity user = newUser(RoleName.USER, UserStatus.ACTIVE);
+        otpStore.put(user.getEmail(), "123456", Duration.ofMinutes(3));
+
+        expectWithin("POST /api/auth/verify-otp", SqlBudget.of(3, 2),
+                json(post("/api/auth/verify-otp"), new OtpDto("123456", user.getEmail())));
+    }
+
+    @Test
+    void resetPassword() throws Exception {
+        UserEntity user = newUser(RoleName.USER, UserStatus.ACTIVE);
+        ResetPasswordDto request = new ResetPasswordDto();
+        request.setOldPassword(PASSWORD);
+        request.setNewPassword("password2");
+        request.setConfirmNewPassword("password2");
+
+        expectWithin("POST /api/auth/reset-password", SqlBudget.of(5, 3),
+                json(post("/api/auth/reset-password"), request).header(HttpHeaders.AUTHORIZATION, bearer(user)));
+    }
+
+    @Test
+    void forgotPassword() throws Exception {
+        UserEntity user = newUser(RoleName.USER, UserStatus.ACTIVE);
+
+        expectWithin("POST /api/auth/forgot-password", SqlBudget.of(5, 3),
+                post("/api/auth/forgot-password").param("email", user.getEmail()));
+    }
+
+    @Test
+    void verifyResetOtp() throws Exception {
+        UserEntity user = newUser(RoleName.USER, UserStatus.ACTIVE);
+        otpStore.put(user.getEmail(), "654321", Duration.ofMinutes(3));
+
+        expectWithin("POST /api/auth/verify-reset-otp", SqlBudget.of(7, 5),
+                json(post("/api/auth/verify-reset-otp"), new OtpDto("654321", user.getEmail())));
+    }
+
+    @Test
+    void changePassword() throws Exception {
+        UserEntity user = newUser(RoleName.USER, UserStatus.ACTIVE);
+        passwordResetTokenRepository.save(new PasswordResetToken(null, "reset-token", user,
+                LocalDateTime.now().plusMinutes(10), false));
+        ForgotPasswordDto request = new ForgotPasswordDto();
+        request.setEmail(user.getEmail());
+        request.setPassword("password2");
+        request.setConfirmPassword("password2");
+
+        expectWithin("POST /api/auth/change-password", SqlBudget.of(5, 3),
+                json(post("/api/auth/change-password"), request).param("token", "reset-token"));
+    }
+
+    @Test
+    void logout() throws Exception {
+        UserEntity user = newUser(RoleName.USER, UserStatus.ACTIVE);
+
+        expectWithin("POST /api/auth/logout", SqlBudget.of(3, 2),
+                post("/api/auth/logout").header(HttpHeaders.AUTHORIZATION, bearer(user)));
+    }
+
+    private void expectWithin(String endpoint, SqlBudget budget, MockHttpServletRequestBuilder request) throws Exception {
+        RECORDER.start();
+        mockMvc.perform(request).andExpect(status().isOk());
+        RECORDER.assertWithin(endpoint, budget);
+    }
+
+    private MockHttpServletRequestBuilder json(MockHttpServletRequestBuilder request, Object body) throws Exception {
+        return request.contentType(MediaType.APPLICATION_JSON).content(objectMapper.writeValueAsString(body));
+    }
+
+    private String bearer(UserEntity user) {
+        return "Bearer " + jwtUtil.generateToken(user);
+    }
+
+    private RoleEntity roleOf(RoleName name) {
+        return roleRepository.findByName(name).orElseGet(() -> {
+            RoleEntity role = new RoleEntity();
+            role.setName(name);
+            return roleRepository.save(role);
+        });
+    }
+
+    private UserEntity newUser(RoleName roleName, UserStatus status) {
+        int n = SEQUENCE.incrementAndGet();
+        UserEntity user = new UserEntity();
+        user.setUsername("budget" + n);
+        user.setEmail("budget" + n + "@test.com");
+        user.setPassword(passwordEncoder.encode(PASSWORD));
+        user.setUserStatus(status);
+        user.setRoles(List.of(roleOf(roleName)));
+        return userRepository.save(user);
+    }
+
+    private CardEntity newCard(UserEntity user, BigDecimal balance) {
+        CardEntity card = new CardEntity();
+        card.setCardNumber(nextCardNumber());
+        card.setUser(user);
+        card.setExpirationDate(LocalDate.now().plusYears(2));
+        card.setCardStatus(CardStatus.ACTIVE);
+        card.setBalance(balance);
+        return cardRepository.save(card);
+    }
+
+    private String nextCardNumber() {
+        return String.format("5%015d", SEQUENCE.incrementAndGet());
+    }
+}
@@ -0,0 +1,136 @@
+package org.example.taskproject;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.example.taskproject.util.ClusterJobLock;
+import org.example.taskproject.util.ExpiringTablePurger;
+import org.example.taskproject.util.ExpiringTablePurger.PurgeResult;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.InOrder;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+class ExpiringTablePurgerTest {
+
+    @Mock
+    private JdbcTemplate jdbcTemplate;
+    @Mock
+    private ClusterJobLock jobLock;
+
+    private SimpleMeterRegistry meterRegistry;
+    private ExpiringTablePurger purger;
+
+    @BeforeEach
+    void setUp() {
+        MockitoAnnotations.openMocks(this);
+        meterRegistry = new SimpleMeterRegistry();
+        Clock clock = Clock.fixed(Instant.parse("2026-03-10T12:00:00Z"), ZoneOffset.UTC);
+        purger = new ExpiringTablePurger(jdbcTemplate, meterRegistry, jobLock, clock, 2, 100);
+    }
+
+    @Test
+    void purge_shouldDeleteInChunks_whenTableIsNotPartitioned() {
+        when(jdbcTemplate.queryForObject(contains("pg_partitioned_table"), eq(Boolean.class), eq("otps")))
+                .thenReturn(false);
+        when(jdbcTemplate.update(startsWith("DELETE FROM otps WHERE ctid IN"), any(), eq(100)))
+                .thenReturn(100, 100, 7);
+
+        PurgeResult result = purger.purge("otps");
+
+        assertEquals(207, result.rows());
+        assertEquals(0, result.partitionsDropped());
+        verify(jdbcTemplate, times(3)).update(anyString(), any(), eq(100));
+        assertEquals(207.0, meterRegistry.counter("retention.rows.purged", "table", "otps").count());
+        assertEquals(1, meterRegistry.timer("retention.duration", "table", "otps").count());
+    }
+
+    @Test
+    void purge_shouldDetachConcurrentlyAndDropOnlyFullyExpiredPartitions() {
+        when(jdbcTemplate.queryForObject(contains("pg_partitioned_table"), eq(Boolean.class), eq("reset_tokens")))
+                .thenReturn(true);
+        when(jdbcTemplate.queryForList(contains("pg_inherits"), eq("reset_tokens")))
+                .thenReturn(List.of(partition("reset_tokens_p20260308", false),
+                        partition("reset_tokens_p20260309", false), partition("reset_tokens_p20260310", false)));
+        when(jdbcTemplate.queryForObject(contains("reltuples"), eq(Long.class), anyString())).thenReturn(40L);
+
+        PurgeResult result = purger.purge("reset_tokens");
+
+        assertEquals(2, result.partitionsDropped());
+        assertEquals(80, result.rows());
+        InOrder inOrder = inOrder(jdbcTemplate);
+        inOrder.verify(jdbcTemplate).execute("ALTER TABLE reset_tokens DETACH PARTITION reset_tokens_p20260308 CONCURRENTLY");
+        inOrder.verify(jdbcTemplate).execute("DROP TABLE IF EXISTS reset_tokens_p20260308");
+        verify(jdbcTemplate).execute("ALTER TABLE reset_tokens DETACH PARTITION reset_tokens_p20260309 CONCURRENTLY");
+        verify(jdbcTemplate).execute("DROP TABLE IF EXISTS reset_tokens_p20260309");
+        verify(jdbcTemplate, never()).execute(contains("reset_tokens_p20260310"));
+        verify(jdbcTemplate, never()).queryForObject(contains("count(*)"), eq(Long.class));
+        verify(jdbcTemplate, never()).update(anyString(), any(), anyInt());
+    }
+
+    @Test
+    void purge_shouldFinalizeDetachLeftPendingByEarlierRun() {
+        when(jdbcTemplate.queryForObject(contains("pg_partitioned_table"), eq(Boolean.class), eq("otps")))
+                .thenReturn(true);
+        when(jdbcTemplate.queryForList(contains("pg_inherits"), eq("otps")))
+                .thenReturn(List.of(partition("otps_p20260308", true)));
+        when(jdbcTemplate.queryForObject(contains("reltuples"), eq(Long.class), anyString())).thenReturn(0L);
+
+        PurgeResult result = purger.purge("otps");
+
+        assertEquals(1, result.partitionsDropped());
+        verify(jdbcTemplate).execute("ALTER TABLE otps DETACH PARTITION otps_p20260308 FINALIZE");
+        verify(jdbcTemplate).execute("DROP TABLE IF EXISTS otps_p20260308");
+    }
+
+    @Test
+    void purge_shouldRejectUnknownTable() {
+        assertThrows(IllegalArgumentException.class, () -> purger.purge("users"));
+        verifyNoInteractions(jdbcTemplate);
+    }
+
+    @Test
+    void ensurePartitions_shouldCreateDaysAheadForPartitionedTables() {
+        when(jdbcTemplate.queryForObject(contains("pg_partitioned_table"), eq(Boolean.class), anyString()))
+                .thenReturn(false);
+        when(jdbcTemplate.queryForObject(contains("pg_partitioned_table"), eq(Boolean.class), eq("otps")))
+                .thenReturn(true);
+
+        purger.ensurePartitions();
+
+        verify(jdbcTemplate).execute(
+                "CREATE TABLE IF NOT EXISTS otps_p20260310 PARTITION OF otps FOR VALUES FROM ('2026-03-10') TO ('2026-03-11')");
+        verify(jdbcTemplate).execute(contains("otps_p20260312"));
+        verify(jdbcTemplate, times(3)).execute(anyString());
+    }
+
+    @Test
+    void maintainPartitions_shouldRunUnderDailyClusterLock() {
+        when(jdbcTemplate.queryForObject(contains("pg_partitioned_table"), eq(Boolean.class), anyString()))
+                .thenReturn(false);
+        when(jobLock.run(eq("retention-partitions"), eq(Duration.ofDays(1)), any())).thenAnswer(invocation -> {
+            invocation.<Runnable>getArgument(2).run();
+            return true;
+        });
+
+        purger.maintainPartitions();
+
+        verify(jobLock).run(eq("retention-partitions"), eq(Duration.ofDays(1)), any());
+        verify(jdbcTemplate, times(3)).queryForObject(contains("pg_partitioned_table"), eq(Boolean.class), anyString());
+    }
+
+    private static Map<String, Object> partition(String name, boolean detachPending) {
+        return Map.of("relname", name, "inhdetachpending", detachPending);
+    }
+}
@@ -0,0 +1,197 @@
+package org.example.taskproject;
+
+import jakarta.persistence.PersistenceUnitUtil;
+import org.example.taskproject.entity.CardEntity;
+import org.example.taskproject.entity.PasswordResetToken;
+import org.example.taskproject.entity.RoleEntity;
+import org.example.taskproject.entity.UserEntity;
+import org.example.taskproject.enums.CardStatus;
+import org.example.taskproject.enums.RoleName;
+import org.example.taskproject.enums.UserStatus;
+import org.example.taskproject.repository.CardRepository;
+import org.example.taskproject.repository.PasswordResetTokenRepository;
+import org.example.taskproject.repository.UserRepository;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.function.Supplier;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DataJpaTest(properties = {
+        "spring.liquibase.enabled=false",
+        "spring.jpa.properties.hibernate.generate_statistics=true"
+})
+class FetchPlanStatementBudgetTest {
+
+    @Autowired
+    private UserRepository userRepository;
+    @Autowired
+    private CardRepository cardRepository;
+    @Autowired
+    private PasswordResetTokenRepository passwordResetTokenRepository;
+    @Autowired
+    private TestEntityManager entityManager;
+
+    private Statistics statistics;
+    private PersistenceUnitUtil persistenceUnitUtil;
+    private Long firstUserId;
+    private Long firstCardId;
+
+    @BeforeEach
+    void setUp() {
+        RoleEntity userRole = new RoleEntity();
+        userRole.setName(RoleName.USER);
+        entityManager.persist(userRole);
+
+        RoleEntity adminRole = new RoleEntity();
+        adminRole.setName(RoleName.ADMIN);
+        entityManager.persist(adminRole);
+
+        for (int i = 0; i < 4; i++) {
+            UserEntity user = new UserEntity();
+            user.setUsername("user" + i);
+            user.setEmail("user" + i + "@test.com");
+            user.setPassword("password");
+            user.setUserStatus(UserStatus.ACTIVE);
+            user.setRoles(List.of(userRole, adminRole));
+            entityManager.persist(user);
+
+            CardEntity card = new CardEntity();
+            card.setCardNumber("400000000000000" + i);
+            card.setUser(user);
+            card.setExpirationDate(LocalDate.of(2028, 1, 1));
+            card.setCardStatus(CardStatus.ACTIVE);
+            card.setBalance(BigDecimal.TEN);
+            entityManager.persist(card);
+
+            if (i == 0) {
+                firstUserId = user.getId();
+                firstCardId = card.getId();
+                for (int t = 0; t < 2; t++) {
+                    PasswordResetToken token = new PasswordResetToken();
+                    token.setUser(user);
+                    token.setToken("token" + t);
+                    token.setExpiryDate(LocalDateTime.of(2030, 1, 1, 0, 0).plusMinutes(t));
+                    entityManager.persist(token);
+                }
+            }
+        }
+
+        entityManager.flush();
+        entityManager.clear();
+
+        statistics = entityManager.getEntityManager().getEntityManagerFactory()
+                .unwrap(SessionFactory.class).getStatistics();
+        persistenceUnitUtil = entityManager.getEntityManager().getEntityManagerFactory().getPersistenceUnitUtil();
+        statistics.clear();
+    }
+
+    @Test
+    void getAllUsers_shouldNotLoadRolesPerRow() {
+        Page<UserEntity> page = withinBudget(2, () -> {
+            Page<UserEntity> users = userRepository.findAll(PageRequest.of(0, 3, Sort.by("id").descending()));
+            users.forEach(user -> assertNotNull(user.getUserStatus()));
+            return users;
+        });
+
+        assertEquals(3, page.getContent().size());
+        assertEquals(0, statistics.getCollectionLoadCount());
+        assertFalse(persistenceUnitUtil.isLoaded(page.getContent().get(0), "roles"));
+    }
+
+    @Test
+    void scrollUsers_shouldLoadPageInOneStatement() {
+        List<UserEntity> users = withinBudget(1, () -> userRepository.findAllByOrderByIdDesc(PageRequest.ofSize(3)));
+
+        assertEquals(3, users.size());
+        assertEquals(0, statistics.getCollectionLoadCount());
+    }
+
+    @Test
+    void findWithRolesByEmail_shouldFetchRolesWithUser() {
+        UserEntity user = withinBudget(1, () -> userRepository.findWithRolesByEmail("user1@test.com").orElseThrow());
+        entityManager.clear();
+
+        assertTrue(persistenceUnitUtil.isLoaded(user, "roles"));
+        assertEquals(2, user.getRoles().size());
+    }
+
+    @Test
+    void findByEmail_shouldLeaveRolesUnloaded() {
+        UserEntity user = withinBudget(1, () -> userRepository.findByEmail("user1@test.com").orElseThrow());
+
+        assertFalse(persistenceUnitUtil.isLoaded(user, "roles"));
+        assertFalse(persistenceUnitUtil.isLoaded(user, "cards"));
+    }
+
+    @Test
+    void userFindById_shouldLoadUserAlone() {
+        UserEntity user = withinBudget(1, () -> userRepository.findById(firstUserId).orElseThrow());
+
+        assertEquals("user0@test.com", user.getEmail());
+        assertFalse(persistenceUnitUtil.isLoaded(user, "roles"));
+    }
+
+    @Test
+    void cardFindById_shouldNotLoadOwner() {
+        CardEntity card = withinBudget(1, () -> cardRepository.findById(firstCardId).orElseThrow());
+
+        assertEquals(CardStatus.ACTIVE, card.getCardStatus());
+        assertFalse(persistenceUnitUtil.isLoaded(card, "user"));
+    }
+
+    @Test
+    void findByCardNumberIn_shouldLockCardsWithoutLoadingOwners() {
+        List<CardEntity> cards = withinBudget(1, () -> cardRepository.findByCardNumberIn(
+                List.of("4000000000000000", "4000000000000001", "4000000000000002")));
+
+        assertEquals(3, cards.size());
+        cards.forEach(card -> assertFalse(persistenceUnitUtil.isLoaded(card, "user")));
+    }
+
+    @Test
+    void findFirstByUser_shouldReturnLatestTokenWithoutLoadingUser() {
+        UserEntity user = entityManager.find(UserEntity.class, firstUserId);
+        entityManager.detach(user);
+        statistics.clear();
+
+        PasswordResetToken token = withinBudget(1,
+                () -> passwordResetTokenRepository.findFirstByUserOrderByExpiryDateDesc(user).orElseThrow());
+
+        assertEquals("token1", token.getToken());
+        assertFalse(persistenceUnitUtil.isLoaded(token, "user"));
+    }
+
+    @Test
+    void toString_shouldNotTouchLazyAssociations() {
+        CardEntity card = cardRepository.findById(firstCardId).orElseThrow();
+        UserEntity user = userRepository.findById(firstUserId).orElseThrow();
+        statistics.clear();
+
+        assertFalse(card.toString().isEmpty());
+        assertFalse(user.toString().isEmpty());
+        assertEquals(card.hashCode(), card.hashCode());
+        assertEquals(0, statistics.getPrepareStatementCount());
+    }
+
+    private <T> T withinBudget(int budget, Supplier<T> action) {
+        T result = action.get();
+        long statements = statistics.getPrepareStatementCount();
+        assertTrue(statements <= budget,
+                "Expected at most " + budget + " statements but " + statements + " were issued");
+        return result;
+    }
+}
@@ -0,0 +1,114 @@
+package org.example.taskproject;
+
+import org.example.taskproject.enums.OtpCheckResult;
+import org.example.taskproject.util.InMemoryOtpStore;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class InMemoryOtpStoreTest {
+
+    private final AtomicLong clock = new AtomicLong(1_000_000);
+    private InMemoryOtpStore store;
+
+    @BeforeEach
+    void setUp() {
+        store = new InMemoryOtpStore(clock::get, 1000, 8);
+    }
+
+    @Test
+    void consume_shouldVerifyOnlyOnce() {
+        store.put("user@mail.com", "123456", Duration.ofMinutes(3));
+
+        assertEquals(OtpCheckResult.VERIFIED, store.consume("user@mail.com", "123456"));
+        assertEquals(OtpCheckResult.REJECTED, store.consume("user@mail.com", "123456"));
+    }
+
+    @Test
+    void consume_shouldRejectWrongOrExpiredCode() {
+        store.put("user@mail.com", "123456", Duration.ofSeconds(30));
+
+        assertEquals(OtpCheckResult.REJECTED, store.consume("user@mail.com", "000000"));
+
+        clock.addAndGet(30_000);
+        assertEquals(OtpCheckResult.REJECTED, store.consume("user@mail.com", "123456"));
+    }
+
+    @Test
+    void consume_shouldReturnNotFoundForUnknownEmail() {
+        assertEquals(OtpCheckResult.NOT_FOUND, store.consume("missing@mail.com", "123456"));
+    }
+
+    @Test
+    void put_shouldReplacePreviousCode() {
+        store.put("user@mail.com", "111111", Duration.ofMinutes(3));
+        store.put("user@mail.com", "222222", Duration.ofMinutes(3));
+
+        assertEquals(OtpCheckResult.REJECTED, store.consume("user@mail.com", "111111"));
+        assertEquals(OtpCheckResult.VERIFIED, store.consume("user@mail.com", "222222"));
+    }
+
+    @Test
+    void advance_shouldEvictExpiredCodesAcrossWheelRounds() {
+        store.put("short@mail.com", "111111", Duration.ofSeconds(2));
+        store.put("long@mail.com", "222222", Duration.ofSeconds(20));
+
+        clock.addAndGet(3_000);
+        store.advance();
+        assertEquals(1, store.size());
+        assertEquals(OtpCheckResult.NOT_FOUND, store.consume("short@mail.com", "111111"));
+
+        clock.addAndGet(10_000);
+        store.advance();
+        assertEquals(1, store.size());
+
+        clock.addAndGet(10_000);
+        store.advance();
+        assertEquals(0, store.size());
+    }
+
+    @Test
+    void advance_shouldKeepCodeReissuedAfterExpiry() {
+        store.put("user@mail.com", "111111", Duration.ofSeconds(2));
+        clock.addAndGet(2_000);
+        store.put("user@mail.com", "222222", Duration.ofMinutes(3));
+
+        clock.addAndGet(1_000);
+        store.advance();
+
+        assertEquals(OtpCheckResult.VERIFIED, store.consume("user@mail.com", "222222"));
+    }
+
+    @Test
+    void consume_shouldHaveSingleWinnerUnderContention() throws Exception {
+        store.put("user@mail.com", "123456", Duration.ofMinutes(3));
+        ExecutorService pool = Executors.newFixedThreadPool(8);
+        try {
+            List<Future<OtpCheckResult>> results = new ArrayList<>();
+            Callable<OtpCheckResult> attempt = () -> store.consume("user@mail.com", "123456");
+            for (int i = 0; i < 32; i++) {
+                results.add(pool.submit(attempt));
+            }
+
+            int verified = 0;
+            for (Future<OtpCheckResult> result : results) {
+                if (result.get() == OtpCheckResult.VERIFIED) {
+                    verified++;
+                }
+            }
+            assertEquals(1, verified);
+        } finally {
+            pool.shutdownNow();
+        }
+    }
+}
@@ -0,0 +1,82 @@
+package org.example.taskproject;
+
+import org.example.taskproject.entity.Otp;
+import org.example.taskproject.enums.OtpCheckResult;
+import org.example.taskproject.repository.OtpRepository;
+import org.example.taskproject.util.JpaOtpStore;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.InOrder;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+class JpaOtpStoreTest {
+
+    @Mock
+    private OtpRepository otpRepository;
+
+    @InjectMocks
+    private JpaOtpStore otpStore;
+
+    @BeforeEach
+    void setUp() {
+        MockitoAnnotations.openMocks(this);
+    }
+
+    @Test
+    void put_shouldRetirePreviousCodesBeforeSaving() {
+        otpStore.put("user@mail.com", "123456", Duration.ofMinutes(3));
+
+        InOrder inOrder = inOrder(otpRepository);
+        inOrder.verify(otpRepository).markUnusedAsUsed("user@mail.com");
+        inOrder.verify(otpRepository).save(any(Otp.class));
+    }
+
+    @Test
+    void consume_shouldMarkLatestCodeUsed() {
+        Otp otp = new Otp(1L, "user@mail.com", "123456", LocalDateTime.now().plusMinutes(1), false);
+        when(otpRepository.findFirstByEmailOrderByExpiryTimeDesc("user@mail.com")).thenReturn(Optional.of(otp));
+        when(otpRepository.markUsed(1L, otp.getExpiryTime())).thenReturn(1);
+
+        assertEquals(OtpCheckResult.VERIFIED, otpStore.consume("user@mail.com", "123456"));
+        verify(otpRepository).markUsed(1L, otp.getExpiryTime());
+        verify(otpRepository, never()).save(any());
+    }
+
+    @Test
+    void consume_shouldReject_whenConcurrentVerifyUsedCodeFirst() {
+        Otp otp = new Otp(1L, "user@mail.com", "123456", LocalDateTime.now().plusMinutes(1), false);
+        when(otpRepository.findFirstByEmailOrderByExpiryTimeDesc("user@mail.com")).thenReturn(Optional.of(otp));
+        when(otpRepository.markUsed(1L, otp.getExpiryTime())).thenReturn(0);
+
+        assertEquals(OtpCheckResult.REJECTED, otpStore.consume("user@mail.com", "123456"));
+    }
+
+    @Test
+    void consume_shouldRejectUsedOrExpiredCode() {
+        Otp used = new Otp(1L, "used@mail.com", "123456", LocalDateTime.now().plusMinutes(1), true);
+        Otp expired = new Otp(2L, "expired@mail.com", "123456", LocalDateTime.now().minusMinutes(1), false);
+        when(otpRepository.findFirstByEmailOrderByExpiryTimeDesc("used@mail.com")).thenReturn(Optional.of(used));
+        when(otpRepository.findFirstByEmailOrderByExpiryTimeDesc("expired@mail.com")).thenReturn(Optional.of(expired));
+
+        assertEquals(OtpCheckResult.REJECTED, otpStore.consume("used@mail.com", "123456"));
+        assertEquals(OtpCheckResult.REJECTED, otpStore.consume("expired@mail.com", "123456"));
+        verify(otpRepository, never()).markUsed(any(), any());
+    }
+
+    @Test
+    void consume_shouldReturnNotFoundWithoutCodes() {
+        when(otpRepository.findFirstByEmailOrderByExpiryTimeDesc("user@mail.com")).thenReturn(Optional.empty());
+
+        assertEquals(OtpCheckResult.NOT_FOUND, otpStore.consume("user@mail.com", "123456"));
+    }
+}
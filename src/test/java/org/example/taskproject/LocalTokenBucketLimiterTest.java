@@ -0,0 +1,67 @@
+package org.example.taskproject;
+
+import org.example.taskproject.util.LocalTokenBucketLimiter;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class LocalTokenBucketLimiterTest {
+
+    private final AtomicLong clock = new AtomicLong();
+    private LocalTokenBucketLimiter limiter;
+
+    @BeforeEach
+    void setUp() {
+        limiter = new LocalTokenBucketLimiter(clock::get, 60_000);
+    }
+
+    @Test
+    void tryAcquire_rejectsOnceCapacityIsSpent() {
+        for (int i = 0; i < 3; i++) {
+            assertTrue(limiter.tryAcquire("ip:sign-in:10.0.0.1", 3, 1));
+        }
+
+        assertFalse(limiter.tryAcquire("ip:sign-in:10.0.0.1", 3, 1));
+        assertTrue(limiter.tryAcquire("ip:sign-in:10.0.0.2", 3, 1));
+    }
+
+    @Test
+    void tryAcquire_refillsOverTime() {
+        assertTrue(limiter.tryAcquire("email:sign-in:a@b.c", 1, 0.5));
+        assertFalse(limiter.tryAcquire("email:sign-in:a@b.c", 1, 0.5));
+
+        clock.addAndGet(TimeUnit.SECONDS.toNanos(1));
+        assertFalse(limiter.tryAcquire("email:sign-in:a@b.c", 1, 0.5));
+
+        clock.addAndGet(TimeUnit.SECONDS.toNanos(1));
+        assertTrue(limiter.tryAcquire("email:sign-in:a@b.c", 1, 0.5));
+    }
+
+    @Test
+    void tryAcquire_neverRefillsBeyondCapacity() {
+        limiter.tryAcquire("key", 2, 1);
+        clock.addAndGet(TimeUnit.HOURS.toNanos(1));
+
+        assertTrue(limiter.tryAcquire("key", 2, 1));
+        assertTrue(limiter.tryAcquire("key", 2, 1));
+        assertFalse(limiter.tryAcquire("key", 2, 1));
+    }
+
+    @Test
+    void evictIdle_dropsOnlyStaleBuckets() {
+        limiter.tryAcquire("stale", 5, 1);
+        clock.addAndGet(TimeUnit.SECONDS.toNanos(59));
+        limiter.tryAcquire("fresh", 5, 1);
+        clock.addAndGet(TimeUnit.SECONDS.toNanos(2));
+
+        limiter.evictIdle();
+
+        assertEquals(1, limiter.size());
+    }
+}
@@ -0,0 +1,106 @@
+package org.example.taskproject;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.example.taskproject.exception.NotFoundException;
+import org.example.taskproject.util.OptimisticRetryExecutor;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.dao.PessimisticLockingFailureException;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class OptimisticRetryExecutorTest {
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    private SimpleMeterRegistry meterRegistry;
+    private OptimisticRetryExecutor retryExecutor;
+
+    @BeforeEach
+    void setUp() {
+        MockitoAnnotations.openMocks(this);
+        meterRegistry = new SimpleMeterRegistry();
+        retryExecutor = new OptimisticRetryExecutor(transactionManager, meterRegistry, 3, 1, 2, 0.2, 10);
+    }
+
+    @Test
+    void execute_shouldRetryConflictsUntilCommit() {
+        AtomicInteger calls = new AtomicInteger();
+
+        String result = retryExecutor.execute("blockCard", () -> {
+            if (calls.incrementAndGet() < 3) {
+                throw new OptimisticLockingFailureException("stale card");
+            }
+            return "done";
+        });
+
+        assertEquals("done", result);
+        assertEquals(3, calls.get());
+        assertEquals(2.0, meterRegistry.get("card.mutation.retries").tag("operation", "blockCard").counter().count());
+        assertEquals(2.0, meterRegistry.get("card.mutation.attempts")
+                .tag("operation", "blockCard").tag("outcome", "version_conflict").counter().count());
+    }
+
+    @Test
+    void execute_shouldTagLockFailuresApartFromVersionConflicts() {
+        AtomicInteger calls = new AtomicInteger();
+
+        retryExecutor.run("transfer", () -> {
+            if (calls.incrementAndGet() < 2) {
+                throw new PessimisticLockingFailureException("deadlock detected");
+            }
+        });
+
+        assertEquals(2, calls.get());
+        assertEquals(1.0, meterRegistry.get("card.mutation.attempts")
+                .tag("operation", "transfer").tag("outcome", "lock_failure").counter().count());
+        assertNull(meterRegistry.find("card.mutation.attempts")
+                .tag("operation", "transfer").tag("outcome", "version_conflict").counter());
+    }
+
+    @Test
+    void execute_shouldGiveUpAfterMaxAttempts() {
+        AtomicInteger calls = new AtomicInteger();
+
+        assertThrows(OptimisticLockingFailureException.class, () -> retryExecutor.run("transfer", () -> {
+            calls.incrementAndGet();
+            throw new OptimisticLockingFailureException("stale card");
+        }));
+
+        assertEquals(3, calls.get());
+        assertEquals(1.0, meterRegistry.get("card.mutation.retries.exhausted").tag("operation", "transfer").counter().count());
+    }
+
+    @Test
+    void execute_shouldNotRetryBusinessErrors() {
+        AtomicInteger calls = new AtomicInteger();
+
+        assertThrows(NotFoundException.class, () -> retryExecutor.run("deleteCard", () -> {
+            calls.incrementAndGet();
+            throw new NotFoundException("CARD_NOT_FOUND");
+        }));
+
+        assertEquals(1, calls.get());
+    }
+
+    @Test
+    void execute_shouldStopRetrying_whenBudgetIsSpent() {
+        OptimisticRetryExecutor tightBudget =
+                new OptimisticRetryExecutor(transactionManager, meterRegistry, 10, 1, 2, 0.0, 1);
+        AtomicInteger calls = new AtomicInteger();
+
+        assertThrows(OptimisticLockingFailureException.class, () -> tightBudget.run("transfer", () -> {
+            calls.incrementAndGet();
+            throw new OptimisticLockingFailureException("stale card");
+        }));
+
+        assertEquals(2, calls.get());
+    }
+}
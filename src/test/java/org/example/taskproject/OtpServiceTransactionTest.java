@@ -0,0 +1,39 @@
+package org.example.taskproject;
+
+import org.example.taskproject.service.EmailService;
+import org.example.taskproject.service.OtpService;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@EmbeddedPostgresTest
+class OtpServiceTransactionTest {
+
+    @Autowired
+    private OtpService otpService;
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @MockitoBean
+    private EmailService emailService;
+
+    @Test
+    void sendOtp_shouldRollBackNewCodeAndKeepPreviousOne_whenOutboxFails() {
+        String email = "otp-rollback@test.com";
+        otpService.sendOtp(email);
+        String previous = jdbcTemplate.queryForObject(
+                "SELECT code FROM otps WHERE email = ? AND used = false", String.class, email);
+
+        doThrow(new IllegalStateException("outbox unavailable")).when(emailService).sendOtpEmail(eq(email), anyString());
+
+        assertThrows(IllegalStateException.class, () -> otpService.sendOtp(email));
+        assertEquals(1, jdbcTemplate.queryForObject("SELECT count(*) FROM otps WHERE email = ?", Integer.class, email));
+        assertEquals(previous, jdbcTemplate.queryForObject(
+                "SELECT code FROM otps WHERE email = ? AND used = false", String.class, email));
+    }
+}
@@ -0,0 +1,151 @@
+package org.example.taskproject;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.example.taskproject.exception.ServiceBusyException;
+import org.example.taskproject.util.PasswordHashingExecutor;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.security.crypto.password.PasswordEncoder;
+
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+class PasswordHashingExecutorTest {
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private PasswordHashingExecutor hasher;
+
+    @AfterEach
+    void tearDown() {
+        if (hasher != null) {
+            hasher.shutdown();
+        }
+    }
+
+    @Test
+    void encodeAndMatches_shouldRunOnExecutorAndRecordLatency() {
+        hasher = new PasswordHashingExecutor(new BCryptPasswordEncoder(4), meterRegistry, 2, 4, 5000);
+
+        String hash = hasher.encode("secret");
+
+        assertTrue(hasher.matches("secret", hash));
+        assertFalse(hasher.matches("other", hash));
+        assertEquals(1, meterRegistry.timer("password.hashing.latency", "operation", "encode").count());
+        assertEquals(2, meterRegistry.timer("password.hashing.latency", "operation", "matches").count());
+    }
+
+    @Test
+    void encode_shouldFailFast_whenQueueIsFull() throws Exception {
+        CountDownLatch release = new CountDownLatch(1);
+        PasswordEncoder slowEncoder = mock(PasswordEncoder.class);
+        when(slowEncoder.encode(any())).thenAnswer(invocation -> {
+            release.await(5, TimeUnit.SECONDS);
+            return "hash";
+        });
+        hasher = new PasswordHashingExecutor(slowEncoder, meterRegistry, 1, 1, 5000);
+
+        CompletableFuture<String> running = CompletableFuture.supplyAsync(() -> hasher.encode("a"));
+        awaitQueued(0, running);
+        CompletableFuture<String> queued = CompletableFuture.supplyAsync(() -> hasher.encode("b"));
+        awaitQueued(1, queued);
+
+        ServiceBusyException ex = assertThrows(ServiceBusyException.class, () -> hasher.encode("c"));
+        assertEquals("PASSWORD_HASHING_BUSY", ex.getMessage());
+        assertEquals(1.0, meterRegistry.counter("password.hashing.rejected", "operation", "encode").count());
+
+        release.countDown();
+        assertEquals("hash", running.get(5, TimeUnit.SECONDS));
+        assertEquals("hash", queued.get(5, TimeUnit.SECONDS));
+    }
+
+    @Test
+    void encodeAll_shouldKeepOrderAndUseAtMostHalfThePool() {
+        AtomicInteger running = new AtomicInteger();
+        AtomicInteger peak = new AtomicInteger();
+        PasswordEncoder trackingEncoder = mock(PasswordEncoder.class);
+        when(trackingEncoder.encode(any())).thenAnswer(invocation -> {
+            peak.accumulateAndGet(running.incrementAndGet(), Math::max);
+            Thread.sleep(10);
+            running.decrementAndGet();
+            return "hash-" + invocation.getArgument(0);
+        });
+        hasher = new PasswordHashingExecutor(trackingEncoder, meterRegistry, 4, 64, 5000);
+
+        List<String> hashes = hasher.encodeAll(List.of("a", "b", "c", "d", "e", "f"));
+
+        assertEquals(List.of("hash-a", "hash-b", "hash-c", "hash-d", "hash-e", "hash-f"), hashes);
+        assertTrue(peak.get() <= 2, "Bulk hashing used " + peak.get() + " threads");
+        assertEquals(1, meterRegistry.timer("password.hashing.latency", "operation", "encodeAll").count());
+    }
+
+    @Test
+    void encodeAll_shouldReturnNullForRejectedPassword_andHashTheRest() {
+        hasher = new PasswordHashingExecutor(new BCryptPasswordEncoder(4), meterRegistry, 2, 4, 5000);
+
+        List<String> hashes = hasher.encodeAll(List.of("short", "x".repeat(73), "other"));
+
+        assertEquals(3, hashes.size());
+        assertTrue(hashes.get(0).startsWith("$2a$04$"));
+        assertNull(hashes.get(1));
+        assertTrue(hashes.get(2).startsWith("$2a$04$"));
+    }
+
+    @Test
+    void encodeAll_shouldHashOnCaller_whenQueueIsFull() throws Exception {
+        CountDownLatch release = new CountDownLatch(1);
+        PasswordEncoder slowEncoder = mock(PasswordEncoder.class);
+        when(slowEncoder.encode(any())).thenAnswer(invocation -> {
+            if ("blocker".equals(invocation.getArgument(0).toString())) {
+                release.await(5, TimeUnit.SECONDS);
+            }
+            return "hash";
+        });
+        hasher = new PasswordHashingExecutor(slowEncoder, meterRegistry, 2, 1, 5000);
+
+        CompletableFuture<String> first = CompletableFuture.supplyAsync(() -> hasher.encode("blocker"));
+        CompletableFuture<String> second = CompletableFuture.supplyAsync(() -> hasher.encode("blocker"));
+        awaitState(2, 0);
+        CompletableFuture<String> queued = CompletableFuture.supplyAsync(() -> hasher.encode("blocker"));
+        awaitState(2, 1);
+
+        assertEquals(List.of("hash", "hash"), hasher.encodeAll(List.of("x", "y")));
+        assertEquals(2.0, meterRegistry.counter("password.hashing.rejected", "operation", "encodeAll").count());
+
+        release.countDown();
+        assertEquals("hash", first.get(5, TimeUnit.SECONDS));
+        assertEquals("hash", second.get(5, TimeUnit.SECONDS));
+        assertEquals("hash", queued.get(5, TimeUnit.SECONDS));
+    }
+
+    private void awaitState(int active, int queued) throws InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (System.nanoTime() < deadline) {
+            if (meterRegistry.get("executor.active").tag("name", "passwordHashing").gauge().value() == active
+                    && meterRegistry.get("executor.queued").tag("name", "passwordHashing").gauge().value() == queued) {
+                return;
+            }
+            Thread.sleep(5);
+        }
+        fail("Executor did not reach active=" + active + ", queued=" + queued);
+    }
+
+    private void awaitQueued(int expected, CompletableFuture<?> caller) throws InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (System.nanoTime() < deadline) {
+            double active = meterRegistry.get("executor.active").tag("name", "passwordHashing").gauge().value();
+            double queued = meterRegistry.get("executor.queued").tag("name", "passwordHashing").gauge().value();
+            if (active == 1 && queued == expected) {
+                return;
+            }
+            Thread.sleep(5);
+        }
+        fail("Executor did not reach expected state, caller done=" + caller.isDone());
+    }
+}
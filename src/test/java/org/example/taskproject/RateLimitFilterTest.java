@@ -0,0 +1,159 @@
+package org.example.taskproject;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.servlet.http.HttpServletRequest;
+import org.example.taskproject.config.RateLimitProperties;
+import org.example.taskproject.util.LocalTokenBucketLimiter;
+import org.example.taskproject.util.RateLimitFilter;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+import java.nio.charset.StandardCharsets;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+class RateLimitFilterTest {
+
+    private SimpleMeterRegistry meterRegistry;
+    private RateLimitFilter filter;
+
+    @BeforeEach
+    void setUp() {
+        RateLimitProperties.Policy signIn = new RateLimitProperties.Policy();
+        signIn.setPath("/api/auth/sign-in");
+        signIn.setIpCapacity(10);
+        signIn.setIpRefillPerMinute(1);
+        signIn.setEmailCapacity(2);
+        signIn.setEmailRefillPerMinute(1);
+
+        RateLimitProperties.Policy forgotPassword = new RateLimitProperties.Policy();
+        forgotPassword.setPath("/api/auth/forgot-password");
+        forgotPassword.setEmailCapacity(1);
+        forgotPassword.setEmailRefillPerMinute(1);
+        forgotPassword.setEmailSource(RateLimitProperties.EmailSource.PARAM);
+
+        RateLimitProperties properties = new RateLimitProperties();
+        properties.setMaxBodyBytes(256);
+        properties.getPolicies().put("sign-in", signIn);
+        properties.getPolicies().put("forgot-password", forgotPassword);
+
+        meterRegistry = new SimpleMeterRegistry();
+        filter = new RateLimitFilter(new LocalTokenBucketLimiter(System::nanoTime, 60_000), properties, meterRegistry);
+    }
+
+    @Test
+    void rejectsWith429OnceEmailBucketIsEmpty() throws Exception {
+        assertEquals(200, signIn("10.0.0.1", "User@Mail.com").getStatus());
+        assertEquals(200, signIn("10.0.0.2", "user@mail.com").getStatus());
+
+        MockHttpServletResponse rejected = signIn("10.0.0.3", "user@mail.com");
+
+        assertEquals(429, rejected.getStatus());
+        assertEquals("60", rejected.getHeader("Retry-After"));
+        assertEquals("{\"message\":\"TOO_MANY_REQUESTS\"}", rejected.getContentAsString());
+        assertEquals(1.0, meterRegistry.counter("rate_limit.rejected", "policy", "sign-in", "key_type", "email").count());
+    }
+
+    @Test
+    void rejectsWith429OnceIpBucketIsEmpty() throws Exception {
+        for (int i = 0; i < 10; i++) {
+            assertEquals(200, signIn("10.0.0.1", "user" + i + "@mail.com").getStatus());
+        }
+
+        assertEquals(429, signIn("10.0.0.1", "other@mail.com").getStatus());
+    }
+
+    @Test
+    void keysBodyPoliciesFromBody_evenWithDecoyQueryParameter() throws Exception {
+        for (int i = 0; i < 2; i++) {
+            MockHttpServletRequest request = jsonRequest("10.0.0." + i, "{\"email\":\"victim@mail.com\",\"password\":\"x\"}");
+            request.setParameter("email", "decoy" + i + "@mail.com");
+            MockHttpServletResponse response = new MockHttpServletResponse();
+            filter.doFilter(request, response, new MockFilterChain());
+            assertEquals(200, response.getStatus());
+        }
+
+        MockHttpServletRequest request = jsonRequest("10.0.0.9", "{\"email\":\"victim@mail.com\",\"password\":\"x\"}");
+        request.setParameter("email", "decoy9@mail.com");
+        MockHttpServletResponse rejected = new MockHttpServletResponse();
+        filter.doFilter(request, rejected, new MockFilterChain());
+
+        assertEquals(429, rejected.getStatus());
+    }
+
+    @Test
+    void keysParamPoliciesFromQueryString() throws Exception {
+        assertEquals(200, forgotPassword("10.0.0.1", "user@mail.com").getStatus());
+        assertEquals(429, forgotPassword("10.0.0.2", "user@mail.com").getStatus());
+        assertEquals(200, forgotPassword("10.0.0.3", "other@mail.com").getStatus());
+    }
+
+    @Test
+    void rejectsWith413WhenBodyExceedsLimit() throws Exception {
+        MockHttpServletRequest request = jsonRequest("10.0.0.1",
+                "{\"email\":\"a@b.c\",\"password\":\"" + "x".repeat(300) + "\"}");
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        MockFilterChain chain = new MockFilterChain();
+
+        filter.doFilter(request, response, chain);
+
+        assertEquals(413, response.getStatus());
+        assertEquals("{\"message\":\"PAYLOAD_TOO_LARGE\"}", response.getContentAsString());
+        assertNull(chain.getRequest());
+    }
+
+    @Test
+    void bodyIsStillReadableDownstream() throws Exception {
+        MockHttpServletRequest request = jsonRequest("10.0.0.1", "{\"email\":\"a@b.c\",\"password\":\"x\"}");
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        MockFilterChain chain = new MockFilterChain();
+
+        filter.doFilter(request, response, chain);
+
+        HttpServletRequest forwarded = (HttpServletRequest) chain.getRequest();
+        assertNotNull(forwarded);
+        assertEquals("{\"email\":\"a@b.c\",\"password\":\"x\"}",
+                new String(forwarded.getInputStream().readAllBytes(), StandardCharsets.UTF_8));
+    }
+
+    @Test
+    void ignoresPathsWithoutPolicy() throws Exception {
+        MockHttpServletRequest request = new MockHttpServletRequest("POST", "/api/auth/sign-up");
+
+        for (int i = 0; i < 20; i++) {
+            MockHttpServletResponse response = new MockHttpServletResponse();
+            filter.doFilter(request, response, new MockFilterChain());
+            assertEquals(200, response.getStatus());
+        }
+        assertNull(meterRegistry.find("rate_limit.rejected").counter());
+    }
+
+    private MockHttpServletResponse signIn(String ip, String email) throws Exception {
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        filter.doFilter(jsonRequest(ip, "{\"email\":\"" + email + "\",\"password\":\"secret\"}"),
+                response, new MockFilterChain());
+        return response;
+    }
+
+    private MockHttpServletResponse forgotPassword(String ip, String email) throws Exception {
+        MockHttpServletRequest request = new MockHttpServletRequest("POST", "/api/auth/forgot-password");
+        request.setRemoteAddr(ip);
+        request.setParameter("email", email);
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        filter.doFilter(request, response, new MockFilterChain());
+        return response;
+    }
+
+    private MockHttpServletRequest jsonRequest(String ip, String body) {
+        MockHttpServletRequest request = new MockHttpServletRequest("POST", "/api/auth/sign-in");
+        request.setRemoteAddr(ip);
+        request.setContentType("application/json");
+        request.setContent(body.getBytes(StandardCharsets.UTF_8));
+        return request;
+    }
+}
@@ -0,0 +1,255 @@
+package org.example.taskproject;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import net.ttddyy.dsproxy.QueryInfo;
+import net.ttddyy.dsproxy.proxy.ParameterSetOperation;
+import org.example.taskproject.entity.Otp;
+import org.example.taskproject.repository.BlacklistedTokenRepository;
+import org.example.taskproject.repository.CardRepository;
+import org.example.taskproject.repository.OtpRepository;
+import org.example.taskproject.repository.PasswordResetTokenRepository;
+import org.example.taskproject.repository.UserRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.PreparedStatementCallback;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.sql.ResultSet;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Seeds a production-sized data set, captures the SQL each repository query actually sends and
+ * fails when its plan sequentially scans a large table. Offset paging (findAllViews) and the
+ * blacklist warm-up (findByExpiryDateAfter) read whole tables by design and are left out.
+ */
+@EmbeddedPostgresTest
+class RepositoryQueryPlanTest {
+
+    private static final SqlStatementRecorder RECORDER = SqlRecordingConfiguration.RECORDER;
+    private static final int USERS = 20_000;
+    private static final double LARGE_TABLE_ROWS = 1_000;
+    private static volatile boolean seeded;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+    @Autowired
+    private ObjectMapper objectMapper;
+    @Autowired
+    private UserRepository userRepository;
+    @Autowired
+    private CardRepository cardRepository;
+    @Autowired
+    private OtpRepository otpRepository;
+    @Autowired
+    private PasswordResetTokenRepository passwordResetTokenRepository;
+    @Autowired
+    private BlacklistedTokenRepository blacklistedTokenRepository;
+
+    private Long userId;
+    private String cardNumber;
+
+    @BeforeEach
+    void setUp() {
+        if (!seeded) {
+            seed();
+            seeded = true;
+        }
+        userId = jdbcTemplate.queryForObject("SELECT id FROM users WHERE username = 'plan100'", Long.class);
+        cardNumber = jdbcTemplate.queryForObject(
+                "SELECT card_number FROM cards WHERE user_id = ? ORDER BY id LIMIT 1", String.class, userId);
+    }
+
+    @Test
+    void userLookups_shouldUseIndexes() {
+        assertIndexed("findByUsername", () -> userRepository.findByUsername("plan100"));
+        assertIndexed("findByEmail", () -> userRepository.findByEmail("plan100@test.com"));
+        assertIndexed("findWithRolesByEmail", () -> userRepository.findWithRolesByEmail("plan100@test.com"));
+        assertIndexed("existsByUsername", () -> userRepository.existsByUsername("plan100"));
+        assertIndexed("existsByEmail", () -> userRepository.existsByEmail("plan100@test.com"));
+        assertIndexed("findExistingUsernames",
+                () -> userRepository.findExistingUsernames(List.of("plan100", "plan101", "missing")));
+        assertIndexed("findExistingEmails",
+                () -> userRepository.findExistingEmails(List.of("plan100@test.com", "plan101@test.com", "missing")));
+        assertIndexed("findPasswordById", () -> userRepository.findPasswordById(userId));
+        assertIndexed("findTokenVersionById", () -> userRepository.findTokenVersionById(userId));
+        assertIndexed("updatePassword", () -> userRepository.updatePassword(userId, "hash"));
+    }
+
+    @Test
+    void userPages_shouldUseIndexes() {
+        assertIndexed("findAllByOrderByIdDesc", () -> userRepository.findAllByOrderByIdDesc(PageRequest.ofSize(21)));
+        assertIndexed("findByIdLessThanOrderByIdDesc",
+                () -> userRepository.findByIdLessThanOrderByIdDesc(userId, PageRequest.ofSize(21)));
+    }
+
+    @Test
+    void cardLookups_shouldUseIndexes() {
+        assertIndexed("findByCardNumber", () -> cardRepository.findByCardNumber(cardNumber));
+        assertIndexed("findAccessByCardNumber", () -> cardRepository.findAccessByCardNumber(cardNumber));
+        assertIndexed("findAccessByCardNumberIn",
+                () -> cardRepository.findAccessByCardNumberIn(List.of(cardNumber, "7000000000000001")));
+        assertIndexed("findByCardNumberIn",
+                () -> cardRepository.findByCardNumberIn(List.of(cardNumber, "7000000000000001")));
+    }
+
+    @Test
+    void cardPages_shouldUseIndexes() {
+        assertIndexed("findViewsByUserId", () -> cardRepository.findViewsByUserId(userId,
+                PageRequest.of(0, 2, Sort.by("expirationDate").descending())));
+        assertIndexed("findUserCards", () -> cardRepository.findUserCards(userId, PageRequest.ofSize(11)));
+        assertIndexed("findUserCardsAfter", () -> cardRepository.findUserCardsAfter(userId,
+                LocalDate.now().plusDays(400), Long.MAX_VALUE, PageRequest.ofSize(11)));
+        assertIndexed("findLatestViews", () -> cardRepository.findLatestViews(PageRequest.ofSize(11)));
+        assertIndexed("findViewsBefore", () -> cardRepository.findViewsBefore(1_000L, PageRequest.ofSize(11)));
+    }
+
+    @Test
+    void cardUpdates_shouldUseIndexes() {
+        Long cardId = cardRepository.findByCardNumber(cardNumber).orElseThrow().getId();
+
+        assertIndexed("debit", () -> cardRepository.debit(cardId, BigDecimal.ONE));
+        assertIndexed("credit", () -> cardRepository.credit(cardId, BigDecimal.ONE));
+        assertIndexed("block", () -> cardRepository.block(cardId));
+    }
+
+    @Test
+    void otpQueries_shouldUseIndexes() {
+        assertIndexed("findFirstByEmailOrderByExpiryTimeDesc",
+                () -> otpRepository.findFirstByEmailOrderByExpiryTimeDesc("plan100@test.com"));
+        assertIndexed("markUnusedAsUsed", () -> otpRepository.markUnusedAsUsed("plan100@test.com"));
+        Otp otp = otpRepository.findFirstByEmailOrderByExpiryTimeDesc("plan100@test.com").orElseThrow();
+        assertIndexed("markUsed", () -> otpRepository.markUsed(otp.getId(), otp.getExpiryTime()));
+    }
+
+    @Test
+    void resetTokenQueries_shouldUseIndexes() {
+        assertIndexed("findFirstByUserOrderByExpiryDateDesc", () -> passwordResetTokenRepository
+                .findFirstByUserOrderByExpiryDateDesc(userRepository.getReferenceById(userId)));
+    }
+
+    @Test
+    void blacklistQueries_shouldUseIndexes() {
+        Long maxId = jdbcTemplate.queryForObject("SELECT max(id) FROM blacklisted_tokens", Long.class);
+
+        assertIndexed("findByJti", () -> blacklistedTokenRepository.findByJti("missing-jti"));
+        assertIndexed("findByIdGreaterThan", () -> blacklistedTokenRepository.findByIdGreaterThan(maxId - 20));
+    }
+
+    /**
+     * Runs the call in a rolled-back transaction, then explains every statement it sent with the
+     * same bound parameters.
+     */
+    private void assertIndexed(String query, Runnable call) {
+        List<QueryInfo> statements = new ArrayList<>();
+        new TransactionTemplate(transactionManager).executeWithoutResult(status -> {
+            status.setRollbackOnly();
+            RECORDER.start();
+            try {
+                call.run();
+            } finally {
+                statements.addAll(RECORDER.stop());
+            }
+        });
+
+        assertFalse(statements.isEmpty(), query + " sent no SQL");
+        for (QueryInfo statement : statements) {
+            JsonNode plan = explain(statement);
+            List<String> seqScans = new ArrayList<>();
+            collectLargeSeqScans(plan.get(0).get("Plan"), seqScans);
+            assertTrue(seqScans.isEmpty(), query + " scans " + seqScans + " sequentially:\n"
+                    + statement.getQuery() + "\n" + plan.toPrettyString());
+        }
+    }
+
+    private JsonNode explain(QueryInfo statement) {
+        List<ParameterSetOperation> parameters = statement.getParametersList().isEmpty()
+                ? List.of()
+                : statement.getParametersList().get(0);
+
+        String plan = jdbcTemplate.execute("EXPLAIN (FORMAT JSON) " + statement.getQuery(),
+                (PreparedStatementCallback<String>) ps -> {
+                    for (ParameterSetOperation parameter : parameters) {
+                        try {
+                            parameter.getMethod().invoke(ps, parameter.getArgs());
+                        } catch (ReflectiveOperationException e) {
+                            throw new IllegalStateException("Cannot bind " + parameter.getMethod().getName(), e);
+                        }
+                    }
+                    try (ResultSet rs = ps.executeQuery()) {
+                        rs.next();
+                        return rs.getString(1);
+                    }
+                });
+
+        try {
+            return objectMapper.readTree(plan);
+        } catch (Exception e) {
+            throw new IllegalStateException("Unreadable plan for " + statement.getQuery(), e);
+        }
+    }
+
+    private void collectLargeSeqScans(JsonNode node, List<String> seqScans) {
+        if ("Seq Scan".equals(node.path("Node Type").asText())) {
+            String relation = node.path("Relation Name").asText();
+            Double rows = jdbcTemplate.queryForObject(
+                    "SELECT reltuples::float8 FROM pg_class WHERE relname = ?", Double.class, relation);
+            if (rows != null && rows >= LARGE_TABLE_ROWS) {
+                seqScans.add(relation + String.format(Locale.ROOT, " (%.0f rows)", rows));
+            }
+        }
+        node.path("Plans").forEach(child -> collectLargeSeqScans(child, seqScans));
+    }
+
+    private void seed() {
+        jdbcTemplate.update("INSERT INTO roles (name) SELECT 'USER' WHERE NOT EXISTS (SELECT 1 FROM roles WHERE name = 'USER')");
+        jdbcTemplate.update("""
+                INSERT INTO users (username, password, email, user_status, token_version)
+                SELECT 'plan' || g, 'hash', 'plan' || g || '@test.com', 'ACTIVE', 0
+                FROM generate_series(1, ?) g
+                """, USERS);
+        jdbcTemplate.update("""
+                INSERT INTO user_role (user_id, role_id)
+                SELECT u.id, r.id FROM users u CROSS JOIN roles r
+                WHERE r.name = 'USER' AND u.username LIKE 'plan%'
+                """);
+        jdbcTemplate.update("""
+                INSERT INTO cards (card_number, user_id, expiration_date, card_status, balance, version)
+                SELECT '7' || lpad((u.id * 3 + s)::text, 15, '0'), u.id,
+                       current_date + (u.id % 700)::int + s * 30, 'ACTIVE', 100, 0
+                FROM users u CROSS JOIN generate_series(0, 2) s
+                WHERE u.username LIKE 'plan%'
+                """);
+        // Expiry spreads over today and the next week of day partitions.
+        jdbcTemplate.update("""
+                INSERT INTO otps (email, code, expiry_time, used)
+                SELECT 'plan' || (g % ? + 1) || '@test.com', '123456',
+                       localtimestamp + (g % 8) * interval '1 day', g % 3 = 0
+                FROM generate_series(1, ?) g
+                """, USERS, USERS * 3);
+        jdbcTemplate.update("""
+                INSERT INTO reset_tokens (token, user_id, expiry_date, used)
+                SELECT md5(u.id::text), u.id, localtimestamp + (u.id % 8) * interval '1 day', false
+                FROM users u WHERE u.username LIKE 'plan%'
+                """);
+        jdbcTemplate.update("""
+                INSERT INTO blacklisted_tokens (jti, expiry_date)
+                SELECT md5('jti' || g), localtimestamp + (g % 8) * interval '1 day'
+                FROM generate_series(1, ?) g
+                """, USERS * 2);
+        jdbcTemplate.execute("ANALYZE");
+    }
+}
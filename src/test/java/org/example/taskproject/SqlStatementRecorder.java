@@ -0,0 +1,98 @@
+package org.example.taskproject;
+
+import net.ttddyy.dsproxy.ExecutionInfo;
+import net.ttddyy.dsproxy.QueryInfo;
+import net.ttddyy.dsproxy.listener.MethodExecutionContext;
+import net.ttddyy.dsproxy.listener.MethodExecutionListener;
+import net.ttddyy.dsproxy.listener.QueryExecutionListener;
+
+import java.sql.ResultSet;
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Counts the JDBC work issued by the thread that called {@link #start()}. Scheduled jobs share the
+ * datasource, so statements from any other thread are ignored. A batch execution counts as one
+ * statement, matching the single round trip it costs.
+ */
+class SqlStatementRecorder implements QueryExecutionListener, MethodExecutionListener {
+
+    private final AtomicInteger statements = new AtomicInteger();
+    private final AtomicInteger rows = new AtomicInteger();
+    private final AtomicLong elapsedMs = new AtomicLong();
+    private final List<QueryInfo> queries = new CopyOnWriteArrayList<>();
+    private volatile Thread recordingThread;
+
+    void start() {
+        statements.set(0);
+        rows.set(0);
+        elapsedMs.set(0);
+        queries.clear();
+        recordingThread = Thread.currentThread();
+    }
+
+    List<QueryInfo> stop() {
+        recordingThread = null;
+        return List.copyOf(queries);
+    }
+
+    void assertWithin(String endpoint, SqlBudget budget) {
+        String detail = endpoint + " issued " + statements.get() + " statements, fetched " + rows.get()
+                + " rows in " + elapsedMs.get() + "ms:\n"
+                + stop().stream().map(QueryInfo::getQuery).collect(Collectors.joining("\n"));
+
+        assertTrue(statements.get() <= budget.statements(),
+                "Statement budget of " + budget.statements() + " exceeded. " + detail);
+        assertTrue(rows.get() <= budget.rows(),
+                "Row budget of " + budget.rows() + " exceeded. " + detail);
+        assertTrue(elapsedMs.get() <= budget.time().toMillis(),
+                "Time budget of " + budget.time().toMillis() + "ms exceeded. " + detail);
+    }
+
+    @Override
+    public void beforeQuery(ExecutionInfo execInfo, List<QueryInfo> queryInfoList) {
+    }
+
+    @Override
+    public void afterQuery(ExecutionInfo execInfo, List<QueryInfo> queryInfoList) {
+        if (!recording()) {
+            return;
+        }
+        statements.incrementAndGet();
+        elapsedMs.addAndGet(execInfo.getElapsedTime());
+        queries.addAll(queryInfoList);
+    }
+
+    @Override
+    public void beforeMethod(MethodExecutionContext executionContext) {
+    }
+
+    @Override
+    public void afterMethod(MethodExecutionContext executionContext) {
+        if (recording()
+                && executionContext.getTarget() instanceof ResultSet
+                && "next".equals(executionContext.getMethod().getName())
+                && Boolean.TRUE.equals(executionContext.getResult())) {
+            rows.incrementAndGet();
+        }
+    }
+
+    private boolean recording() {
+        return Thread.currentThread() == recordingThread;
+    }
+
+    record SqlBudget(int statements, int rows, Duration time) {
+
+        private static final Duration DEFAULT_TIME = Duration.ofMillis(500);
+
+        static SqlBudget of(int statements, int rows) {
+            return new SqlBudget(statements, rows, DEFAULT_TIME);
+        }
+    }
+}
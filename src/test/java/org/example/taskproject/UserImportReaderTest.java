@@ -0,0 +1,80 @@
+package org.example.taskproject;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.example.taskproject.enums.UserImportFormat;
+import org.example.taskproject.exception.InvalidRequestException;
+import org.example.taskproject.util.UserImportReader;
+import org.example.taskproject.util.UserImportReader.Row;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.io.StringReader;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class UserImportReaderTest {
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+
+    @Test
+    void csv_shouldMapColumnsByHeaderAndUnquoteFields() throws IOException {
+        List<Row> rows = readAll(UserImportFormat.CSV, """
+                \uFEFFEmail,Password,Username
+                alice@test.com,secret1,alice
+
+                "bob@test.com","se,""cret"" 1",bob
+                """);
+
+        assertEquals(2, rows.size());
+        assertEquals(new Row(2, "alice", "alice@test.com", "secret1", null), rows.get(0));
+        assertEquals(new Row(4, "bob", "bob@test.com", "se,\"cret\" 1", null), rows.get(1));
+    }
+
+    @Test
+    void csv_shouldFlagMalformedRowsAndKeepReading() throws IOException {
+        List<Row> rows = readAll(UserImportFormat.CSV, """
+                username,email,password
+                carol,carol@test.com
+                "dave,dave@test.com,secret1
+                erin,erin@test.com,secret1
+                """);
+
+        assertEquals("MALFORMED_ROW", rows.get(0).error());
+        assertEquals("MALFORMED_ROW", rows.get(1).error());
+        assertEquals(new Row(4, "erin", "erin@test.com", "secret1", null), rows.get(2));
+    }
+
+    @Test
+    void csv_shouldRejectHeaderWithoutRequiredColumns() {
+        InvalidRequestException ex = assertThrows(InvalidRequestException.class,
+                () -> new UserImportReader(new StringReader("username,email\n"), UserImportFormat.CSV, objectMapper));
+
+        assertEquals("INVALID_IMPORT_HEADER", ex.getMessage());
+    }
+
+    @Test
+    void ndjson_shouldReadObjectsAndFlagBrokenLines() throws IOException {
+        List<Row> rows = readAll(UserImportFormat.NDJSON, """
+                {"username":"frank","email":"frank@test.com","password":"secret1"}
+                {"username":"grace",
+                ["not","an","object"]
+                {"username":"heidi","email":7}
+                """);
+
+        assertEquals(new Row(1, "frank", "frank@test.com", "secret1", null), rows.get(0));
+        assertEquals("MALFORMED_ROW", rows.get(1).error());
+        assertEquals("MALFORMED_ROW", rows.get(2).error());
+        assertEquals(new Row(4, "heidi", null, null, null), rows.get(3));
+    }
+
+    private List<Row> readAll(UserImportFormat format, String input) throws IOException {
+        UserImportReader reader = new UserImportReader(new StringReader(input), format, objectMapper);
+        List<Row> rows = new ArrayList<>();
+        for (Row row = reader.next(); row != null; row = reader.next()) {
+            rows.add(row);
+        }
+        return rows;
+    }
+}
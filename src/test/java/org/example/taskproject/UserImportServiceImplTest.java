@@ -0,0 +1,78 @@
+package org.example.taskproject;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.validation.Validation;
+import org.example.taskproject.dto.UserImportError;
+import org.example.taskproject.dto.UserImportProgress;
+import org.example.taskproject.entity.RoleEntity;
+import org.example.taskproject.enums.RoleName;
+import org.example.taskproject.enums.UserImportFormat;
+import org.example.taskproject.repository.RoleRepository;
+import org.example.taskproject.repository.UserRepository;
+import org.example.taskproject.service.impl.UserImportServiceImpl;
+import org.example.taskproject.util.PasswordHashingExecutor;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.io.StringReader;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+class UserImportServiceImplTest {
+
+    @Mock
+    private UserRepository userRepository;
+    @Mock
+    private RoleRepository roleRepository;
+    @Mock
+    private PasswordHashingExecutor passwordHasher;
+    @Mock
+    private JdbcTemplate jdbcTemplate;
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    private UserImportServiceImpl userImportService;
+
+    @BeforeEach
+    void setUp() {
+        MockitoAnnotations.openMocks(this);
+        userImportService = new UserImportServiceImpl(userRepository, roleRepository, passwordHasher,
+                Validation.buildDefaultValidatorFactory().getValidator(), new ObjectMapper(),
+                jdbcTemplate, transactionManager, 500);
+
+        RoleEntity role = new RoleEntity();
+        role.setId(1L);
+        when(roleRepository.findByName(RoleName.USER)).thenReturn(Optional.of(role));
+        when(userRepository.findExistingUsernames(any())).thenReturn(List.of());
+        when(userRepository.findExistingEmails(any())).thenReturn(List.of());
+    }
+
+    @Test
+    void importUsers_shouldReportPasswordsBCryptCannotHashAsRowErrors() throws Exception {
+        when(passwordHasher.encodeAll(List.of("secret1"))).thenReturn(Arrays.asList((String) null));
+        List<UserImportProgress> progress = new ArrayList<>();
+
+        UserImportProgress result = userImportService.importUsers(new StringReader("""
+                username,email,password
+                alice,alice@test.com,%s
+                bob,bob@test.com,secret1
+                """.formatted("ü".repeat(37))), UserImportFormat.CSV, progress::add);
+
+        assertEquals(2, result.getProcessed());
+        assertEquals(0, result.getImported());
+        assertEquals(2, result.getFailed());
+        assertEquals(List.of(new UserImportError(2, "INVALID_PASSWORD"), new UserImportError(3, "INVALID_PASSWORD")),
+                progress.get(0).getErrors());
+        verify(passwordHasher).encodeAll(List.of("secret1"));
+        verifyNoInteractions(jdbcTemplate, transactionManager);
+    }
+}
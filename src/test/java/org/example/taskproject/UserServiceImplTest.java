@@ -1,17 +1,30 @@
 package org.example.taskproject;
 
+import org.example.taskproject.dto.CardAccessView;
 import org.example.taskproject.dto.CardResponse;
+import org.example.taskproject.dto.CardTransactionResponse;
+import org.example.taskproject.dto.CardView;
+import org.example.taskproject.dto.CursorPage;
+import org.example.taskproject.dto.TransferRequest;
+import org.example.taskproject.dto.TransferResponse;
 import org.example.taskproject.entity.CardEntity;
+import org.example.taskproject.entity.CardTransaction;
 import org.example.taskproject.entity.UserEntity;
 import org.example.taskproject.enums.CardStatus;
+import org.example.taskproject.enums.LedgerEntryType;
+import org.example.taskproject.enums.TransferStatus;
 import org.example.taskproject.exception.AccessDeniedException;
 import org.example.taskproject.exception.CardInactiveException;
+import org.example.taskproject.exception.InvalidRequestException;
 import org.example.taskproject.exception.NotFoundException;
 import org.example.taskproject.exception.UnsufficientBalanceException;
 import org.example.taskproject.mapper.CardMapper;
 import org.example.taskproject.repository.CardRepository;
-import org.example.taskproject.repository.UserRepository;
+import org.example.taskproject.repository.CardTransactionRepository;
 import org.example.taskproject.service.impl.UserServiceImpl;
+import org.example.taskproject.util.AuthenticatedUser;
+import org.example.taskproject.util.CurrentUserResolver;
+import org.example.taskproject.util.OptimisticRetryExecutor;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.mockito.*;
@@ -19,29 +32,48 @@ import org.springframework.data.domain.*;
 import org.springframework.security.core.Authentication;
 
 import java.math.BigDecimal;
+import java.time.Instant;
+import java.time.LocalDate;
 import java.util.List;
 import java.util.Optional;
+import java.util.UUID;
+import java.util.function.Supplier;
 
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.Mockito.*;
 
 class UserServiceImplTest {
 
+    private static final AuthenticatedUser USER =
+            new AuthenticatedUser(1L, "user@test.com", "ACTIVE", List.of("USER"));
+
     @InjectMocks
     private UserServiceImpl userService;
 
     @Mock
-    private UserRepository userRepository;
+    private CurrentUserResolver currentUserResolver;
     @Mock
     private CardRepository cardRepository;
     @Mock
     private CardMapper cardMapper;
     @Mock
     private Authentication authentication;
+    @Mock
+    private OptimisticRetryExecutor retryExecutor;
+    @Mock
+    private CardTransactionRepository cardTransactionRepository;
+    @Captor
+    private ArgumentCaptor<List<CardTransaction>> entries;
 
     @BeforeEach
     void setUp() {
         MockitoAnnotations.openMocks(this);
+        doAnswer(invocation -> {
+            invocation.<Runnable>getArgument(1).run();
+            return null;
+        }).when(retryExecutor).run(anyString(), any());
+        doAnswer(invocation -> invocation.<Supplier<?>>getArgument(1).get())
+                .when(retryExecutor).execute(anyString(), any());
     }
 
 
@@ -49,20 +81,21 @@ class UserServiceImplTest {
     void getCards_shouldReturnPagedCards() {
         when(authentication.getName()).thenReturn("user@test.com");
 
-        UserEntity user = new UserEntity();
-        user.setId(1L);
-
-        CardEntity card1 = new CardEntity();
-        CardEntity card2 = new CardEntity();
+        CardView card1 = new CardView();
+        card1.setId(1L);
+        CardView card2 = new CardView();
+        card2.setId(2L);
         CardResponse dto1 = new CardResponse();
+        dto1.setId(1L);
         CardResponse dto2 = new CardResponse();
+        dto2.setId(2L);
 
-        Page<CardEntity> page = new PageImpl<>(List.of(card1, card2));
+        Page<CardView> page = new PageImpl<>(List.of(card1, card2));
 
-        when(userRepository.findByEmail("user@test.com")).thenReturn(Optional.of(user));
-        when(cardRepository.findByUserId(eq(1L), any(Pageable.class))).thenReturn(page);
-        when(cardMapper.toCardDtoResponse(card1)).thenReturn(dto1);
-        when(cardMapper.toCardDtoResponse(card2)).thenReturn(dto2);
+        when(currentUserResolver.resolve(authentication)).thenReturn(USER);
+        when(cardRepository.findViewsByUserId(eq(1L), any(Pageable.class))).thenReturn(page);
+        when(cardMapper.fromView(card1)).thenReturn(dto1);
+        when(cardMapper.fromView(card2)).thenReturn(dto2);
 
         Page<CardResponse> result = userService.getCards(authentication, 0, 2);
 
@@ -74,9 +107,10 @@ class UserServiceImplTest {
     @Test
     void getCards_shouldThrowNotFound_whenUserNotFound() {
         when(authentication.getName()).thenReturn("user@test.com");
-        when(userRepository.findByEmail("user@test.com")).thenReturn(Optional.empty());
+        when(currentUserResolver.resolve(authentication)).thenThrow(new NotFoundException("USER_NOT_FOUND"));
 
         assertThrows(NotFoundException.class, () -> userService.getCards(authentication, 0, 1));
+        verifyNoInteractions(cardRepository);
     }
 
 
@@ -84,54 +118,67 @@ class UserServiceImplTest {
     void getBalance_shouldReturnBalance() {
         when(authentication.getName()).thenReturn("user@test.com");
 
-        UserEntity user = new UserEntity();
-        user.setId(1L);
-
-        CardEntity card = new CardEntity();
-        card.setUser(user);
-        card.setBalance(BigDecimal.valueOf(1000));
-        card.setCardStatus(CardStatus.ACTIVE);
-
-        when(userRepository.findByEmail("user@test.com")).thenReturn(Optional.of(user));
-        when(cardRepository.findByCardNumber("1234")).thenReturn(Optional.of(card));
+        when(cardRepository.findAccessByCardNumber("1234")).thenReturn(Optional.of(
+                new CardAccessView(1L, "1234", CardStatus.ACTIVE, BigDecimal.valueOf(1000), "user@test.com")));
 
         BigDecimal balance = userService.getBalance(authentication, "1234");
         assertEquals(BigDecimal.valueOf(1000), balance);
+        verify(cardRepository, never()).findByCardNumber(anyString());
+        verifyNoInteractions(currentUserResolver);
     }
 
     @Test
-    void getBalance_shouldThrowAccessDenied_ifCardNotOwned() {
+    void scrollCards_shouldSeekByExpirationDateAndId() {
         when(authentication.getName()).thenReturn("user@test.com");
 
-        UserEntity user = new UserEntity();
-        user.setId(1L);
+        LocalDate expiration = LocalDate.of(2028, 1, 1);
+        CardView card1 = new CardView();
+        card1.setId(5L);
+        card1.setExpirationDate(expiration);
+        CardView card2 = new CardView();
+        card2.setId(4L);
+        card2.setExpirationDate(expiration);
+
+        when(currentUserResolver.resolve(authentication)).thenReturn(USER);
+        when(cardRepository.findUserCards(eq(1L), any(Pageable.class))).thenReturn(List.of(card1, card2));
+        when(cardMapper.fromView(any())).thenReturn(new CardResponse());
 
-        UserEntity otherUser = new UserEntity();
-        otherUser.setId(2L);
+        CursorPage<CardResponse> first = userService.scrollCards(authentication, null, 1);
 
-        CardEntity card = new CardEntity();
-        card.setUser(otherUser);
-        card.setCardStatus(CardStatus.ACTIVE);
+        assertEquals(1, first.getItems().size());
 
-        when(userRepository.findByEmail("user@test.com")).thenReturn(Optional.of(user));
-        when(cardRepository.findByCardNumber("1234")).thenReturn(Optional.of(card));
+        when(cardRepository.findUserCardsAfter(eq(1L), eq(expiration), eq(5L), any(Pageable.class))).thenReturn(List.of(card2));
+
+        CursorPage<CardResponse> second = userService.scrollCards(authentication, first.getNextCursor(), 1);
+
+        assertEquals(1, second.getItems().size());
+        assertNull(second.getNextCursor());
+    }
+
+    @Test
+    void getBalance_shouldThrowAccessDenied_ifCardNotOwned() {
+        when(authentication.getName()).thenReturn("user@test.com");
+
+        when(cardRepository.findAccessByCardNumber("1234")).thenReturn(Optional.of(
+                new CardAccessView(1L, "1234", CardStatus.ACTIVE, BigDecimal.TEN, "other@test.com")));
 
         assertThrows(AccessDeniedException.class, () -> userService.getBalance(authentication, "1234"));
     }
 
     @Test
-    void getBalance_shouldThrowCardInactive_ifCardNotActive() {
+    void getBalance_shouldThrowNotFound_ifCardMissing() {
         when(authentication.getName()).thenReturn("user@test.com");
+        when(cardRepository.findAccessByCardNumber("1234")).thenReturn(Optional.empty());
 
-        UserEntity user = new UserEntity();
-        user.setId(1L);
+        assertThrows(NotFoundException.class, () -> userService.getBalance(authentication, "1234"));
+    }
 
-        CardEntity card = new CardEntity();
-        card.setUser(user);
-        card.setCardStatus(CardStatus.BLOCKED);
+    @Test
+    void getBalance_shouldThrowCardInactive_ifCardNotActive() {
+        when(authentication.getName()).thenReturn("user@test.com");
 
-        when(userRepository.findByEmail("user@test.com")).thenReturn(Optional.of(user));
-        when(cardRepository.findByCardNumber("1234")).thenReturn(Optional.of(card));
+        when(cardRepository.findAccessByCardNumber("1234")).thenReturn(Optional.of(
+                new CardAccessView(1L, "1234", CardStatus.BLOCKED, BigDecimal.TEN, "user@test.com")));
 
         assertThrows(CardInactiveException.class, () -> userService.getBalance(authentication, "1234"));
     }
@@ -141,49 +188,63 @@ class UserServiceImplTest {
     void transaction_shouldTransferAmount() {
         when(authentication.getName()).thenReturn("user@test.com");
 
-        UserEntity user = new UserEntity();
-        user.setId(1L);
-
-        CardEntity from = new CardEntity();
-        from.setUser(user);
-        from.setBalance(BigDecimal.valueOf(1000));
-        from.setCardStatus(CardStatus.ACTIVE);
-
-        CardEntity to = new CardEntity();
-        to.setUser(user);
-        to.setBalance(BigDecimal.valueOf(500));
-        to.setCardStatus(CardStatus.ACTIVE);
+        CardAccessView from = new CardAccessView(20L, "1111", CardStatus.ACTIVE, BigDecimal.valueOf(1000), "user@test.com");
+        CardAccessView to = new CardAccessView(10L, "2222", CardStatus.ACTIVE, BigDecimal.valueOf(500), "user@test.com");
 
-        when(userRepository.findByEmail("user@test.com")).thenReturn(Optional.of(user));
-        when(cardRepository.findByCardNumber("1111")).thenReturn(Optional.of(from));
-        when(cardRepository.findByCardNumber("2222")).thenReturn(Optional.of(to));
+        when(cardRepository.findAccessByCardNumberIn(List.of("1111", "2222"))).thenReturn(List.of(to, from));
+        when(cardRepository.debit(20L, BigDecimal.valueOf(200))).thenReturn(1);
+        when(cardRepository.credit(10L, BigDecimal.valueOf(200))).thenReturn(1);
 
         userService.transaction(authentication, "1111", "2222", BigDecimal.valueOf(200));
 
-        assertEquals(BigDecimal.valueOf(800), from.getBalance());
-        assertEquals(BigDecimal.valueOf(700), to.getBalance());
+        InOrder inOrder = inOrder(cardRepository);
+        inOrder.verify(cardRepository).findAccessByCardNumberIn(List.of("1111", "2222"));
+        inOrder.verify(cardRepository).credit(10L, BigDecimal.valueOf(200));
+        inOrder.verify(cardRepository).debit(20L, BigDecimal.valueOf(200));
+        verifyNoMoreInteractions(cardRepository);
+        verifyNoInteractions(currentUserResolver);
+
+        verify(cardTransactionRepository).saveAll(entries.capture());
+        assertEquals(2, entries.getValue().size());
+        CardTransaction debit = entries.getValue().get(0);
+        CardTransaction credit = entries.getValue().get(1);
+        assertEquals(LedgerEntryType.DEBIT, debit.getEntryType());
+        assertEquals(20L, debit.getCardId());
+        assertEquals(LedgerEntryType.CREDIT, credit.getEntryType());
+        assertEquals(10L, credit.getCardId());
+        assertEquals(debit.getTransferId(), credit.getTransferId());
     }
 
     @Test
-    void transaction_shouldThrowInsufficientBalance() {
+    void transaction_shouldThrowInsufficientBalance_whenConcurrentDebitWins() {
         when(authentication.getName()).thenReturn("user@test.com");
 
-        UserEntity user = new UserEntity();
-        user.setId(1L);
+        when(cardRepository.findAccessByCardNumberIn(anyCollection())).thenReturn(List.of(
+                new CardAccessView(10L, "1111", CardStatus.ACTIVE, BigDecimal.valueOf(1000), "user@test.com"),
+                new CardAccessView(20L, "2222", CardStatus.ACTIVE, BigDecimal.valueOf(500), "user@test.com")));
+        when(cardRepository.debit(10L, BigDecimal.valueOf(200))).thenReturn(0);
 
-        CardEntity from = new CardEntity();
-        from.setUser(user);
-        from.setBalance(BigDecimal.valueOf(100));
-        from.setCardStatus(CardStatus.ACTIVE);
+        assertThrows(UnsufficientBalanceException.class,
+                () -> userService.transaction(authentication, "1111", "2222", BigDecimal.valueOf(200)));
+        verify(cardRepository, never()).credit(anyLong(), any());
+    }
 
-        CardEntity to = new CardEntity();
-        to.setUser(user);
-        to.setBalance(BigDecimal.valueOf(500));
-        to.setCardStatus(CardStatus.ACTIVE);
+    @Test
+    void transaction_shouldRejectNonPositiveAmount() {
+        when(authentication.getName()).thenReturn("user@test.com");
 
-        when(userRepository.findByEmail("user@test.com")).thenReturn(Optional.of(user));
-        when(cardRepository.findByCardNumber("1111")).thenReturn(Optional.of(from));
-        when(cardRepository.findByCardNumber("2222")).thenReturn(Optional.of(to));
+        assertThrows(InvalidRequestException.class,
+                () -> userService.transaction(authentication, "1111", "2222", BigDecimal.valueOf(-5)));
+        verifyNoInteractions(cardRepository);
+    }
+
+    @Test
+    void transaction_shouldThrowInsufficientBalance() {
+        when(authentication.getName()).thenReturn("user@test.com");
+
+        when(cardRepository.findAccessByCardNumberIn(anyCollection())).thenReturn(List.of(
+                new CardAccessView(1L, "1111", CardStatus.ACTIVE, BigDecimal.valueOf(100), "user@test.com"),
+                new CardAccessView(2L, "2222", CardStatus.ACTIVE, BigDecimal.valueOf(500), "user@test.com")));
 
         assertThrows(UnsufficientBalanceException.class,
                 () -> userService.transaction(authentication, "1111", "2222", BigDecimal.valueOf(200)));
@@ -193,81 +254,196 @@ class UserServiceImplTest {
     void transaction_shouldThrowCardInactive_ifAnyCardInactive() {
         when(authentication.getName()).thenReturn("user@test.com");
 
+        when(cardRepository.findAccessByCardNumberIn(anyCollection())).thenReturn(List.of(
+                new CardAccessView(1L, "1111", CardStatus.BLOCKED, BigDecimal.valueOf(500), "user@test.com"),
+                new CardAccessView(2L, "2222", CardStatus.ACTIVE, BigDecimal.valueOf(500), "user@test.com")));
+
+        assertThrows(CardInactiveException.class,
+                () -> userService.transaction(authentication, "1111", "2222", BigDecimal.valueOf(100)));
+    }
+
+    @Test
+    void transaction_shouldThrowAccessDenied_ifTargetCardNotOwned() {
+        when(authentication.getName()).thenReturn("user@test.com");
+
+        when(cardRepository.findAccessByCardNumberIn(anyCollection())).thenReturn(List.of(
+                new CardAccessView(1L, "1111", CardStatus.ACTIVE, BigDecimal.valueOf(500), "user@test.com"),
+                new CardAccessView(2L, "2222", CardStatus.ACTIVE, BigDecimal.valueOf(500), "other@test.com")));
+
+        assertThrows(AccessDeniedException.class,
+                () -> userService.transaction(authentication, "1111", "2222", BigDecimal.valueOf(100)));
+        verify(cardRepository, never()).debit(anyLong(), any());
+    }
+
+    @Test
+    void transaction_shouldThrowNotFound_ifTargetCardMissing() {
+        when(authentication.getName()).thenReturn("user@test.com");
+
+        when(cardRepository.findAccessByCardNumberIn(anyCollection())).thenReturn(List.of(
+                new CardAccessView(1L, "1111", CardStatus.ACTIVE, BigDecimal.valueOf(500), "user@test.com")));
+
+        NotFoundException e = assertThrows(NotFoundException.class,
+                () -> userService.transaction(authentication, "1111", "2222", BigDecimal.valueOf(100)));
+        assertEquals("CARD_TO_NOT_FOUND", e.getMessage());
+    }
+
+
+    @Test
+    void batchTransaction_shouldApplyValidItemsAndReportFailures() {
+        when(authentication.getName()).thenReturn("user@test.com");
+
         UserEntity user = new UserEntity();
         user.setId(1L);
+        user.setEmail("user@test.com");
+        UserEntity other = new UserEntity();
+        other.setId(2L);
+        other.setEmail("other@test.com");
 
         CardEntity from = new CardEntity();
+        from.setId(10L);
+        from.setCardNumber("1111");
         from.setUser(user);
-        from.setBalance(BigDecimal.valueOf(500));
-        from.setCardStatus(CardStatus.BLOCKED);
+        from.setBalance(BigDecimal.valueOf(300));
+        from.setCardStatus(CardStatus.ACTIVE);
 
         CardEntity to = new CardEntity();
+        to.setId(20L);
+        to.setCardNumber("2222");
         to.setUser(user);
-        to.setBalance(BigDecimal.valueOf(500));
+        to.setBalance(BigDecimal.valueOf(100));
         to.setCardStatus(CardStatus.ACTIVE);
 
-        when(userRepository.findByEmail("user@test.com")).thenReturn(Optional.of(user));
-        when(cardRepository.findByCardNumber("1111")).thenReturn(Optional.of(from));
-        when(cardRepository.findByCardNumber("2222")).thenReturn(Optional.of(to));
-
-        assertThrows(CardInactiveException.class,
-                () -> userService.transaction(authentication, "1111", "2222", BigDecimal.valueOf(100)));
+        CardEntity foreign = new CardEntity();
+        foreign.setId(30L);
+        foreign.setCardNumber("3333");
+        foreign.setUser(other);
+        foreign.setBalance(BigDecimal.valueOf(100));
+        foreign.setCardStatus(CardStatus.ACTIVE);
+
+        when(cardRepository.findByCardNumberIn(anyCollection())).thenReturn(List.of(from, to, foreign));
+        when(cardRepository.findAccessByCardNumberIn(anyCollection())).thenReturn(List.of(
+                new CardAccessView(10L, "1111", CardStatus.ACTIVE, BigDecimal.valueOf(300), "user@test.com"),
+                new CardAccessView(20L, "2222", CardStatus.ACTIVE, BigDecimal.valueOf(100), "user@test.com"),
+                new CardAccessView(30L, "3333", CardStatus.ACTIVE, BigDecimal.valueOf(100), "other@test.com")));
+
+        List<TransferResponse> result = userService.batchTransaction(authentication, List.of(
+                new TransferRequest("1111", "2222", BigDecimal.valueOf(200)),
+                new TransferRequest("1111", "2222", BigDecimal.valueOf(200)),
+                new TransferRequest("1111", "3333", BigDecimal.valueOf(10)),
+                new TransferRequest("1111", "9999", BigDecimal.valueOf(10))
+        ));
+
+        assertEquals(TransferStatus.SUCCESS, result.get(0).getStatus());
+        assertEquals("UNSUFFICIENT_BALANCE", result.get(1).getMessage());
+        assertEquals("CARD_DOES_NOT_BELONG_TO_USER", result.get(2).getMessage());
+        assertEquals("CARD_TO_NOT_FOUND", result.get(3).getMessage());
+        assertEquals(0, BigDecimal.valueOf(100).compareTo(from.getBalance()));
+        assertEquals(0, BigDecimal.valueOf(300).compareTo(to.getBalance()));
+        verify(cardRepository, times(1)).findByCardNumberIn(anyCollection());
+        verify(cardRepository, never()).findByCardNumber(anyString());
+
+        verify(cardTransactionRepository).saveAll(entries.capture());
+        assertEquals(2, entries.getValue().size());
     }
 
+    @Test
+    void batchTransaction_shouldRejectNonPositiveAmountPerItem() {
+        when(authentication.getName()).thenReturn("user@test.com");
+
+        when(cardRepository.findByCardNumberIn(anyCollection())).thenReturn(List.of());
+
+        List<TransferResponse> result = userService.batchTransaction(authentication, List.of(
+                new TransferRequest("1111", "2222", BigDecimal.ZERO)
+        ));
+
+        assertEquals(TransferStatus.FAILED, result.get(0).getStatus());
+        assertEquals("INVALID_AMOUNT", result.get(0).getMessage());
+    }
 
     @Test
-    void requestBlockCard_shouldBlockCard() {
+    void getTransactions_shouldReturnNextCursor_whenMoreRowsExist() {
         when(authentication.getName()).thenReturn("user@test.com");
 
-        UserEntity user = new UserEntity();
-        user.setId(1L);
+        Instant now = Instant.parse("2026-10-01T12:00:00Z");
+        CardTransaction newest = new CardTransaction(3L, UUID.randomUUID(), 10L, 20L, LedgerEntryType.DEBIT, BigDecimal.ONE, now);
+        CardTransaction middle = new CardTransaction(2L, UUID.randomUUID(), 10L, 20L, LedgerEntryType.CREDIT, BigDecimal.ONE, now);
+        CardTransaction oldest = new CardTransaction(1L, UUID.randomUUID(), 10L, 20L, LedgerEntryType.DEBIT, BigDecimal.ONE, now.minusSeconds(1));
 
-        CardEntity card = new CardEntity();
-        card.setUser(user);
-        card.setCardStatus(CardStatus.ACTIVE);
+        when(cardRepository.findAccessByCardNumber("1111")).thenReturn(Optional.of(
+                new CardAccessView(10L, "1111", CardStatus.ACTIVE, BigDecimal.TEN, "user@test.com")));
+        when(cardTransactionRepository.findLatest(eq(10L), any(Pageable.class))).thenReturn(List.of(newest, middle, oldest));
+        when(cardMapper.toTransactionResponse(any())).thenReturn(new CardTransactionResponse());
 
-        when(userRepository.findByEmail("user@test.com")).thenReturn(Optional.of(user));
-        when(cardRepository.findByCardNumber("1234")).thenReturn(Optional.of(card));
+        CursorPage<CardTransactionResponse> first = userService.getTransactions(authentication, "1111", null, 2);
 
-        userService.requestBlockCard(authentication, "1234");
+        assertEquals(2, first.getItems().size());
+        assertNotNull(first.getNextCursor());
 
-        assertEquals(CardStatus.BLOCKED, card.getCardStatus());
+        when(cardTransactionRepository.findBefore(eq(10L), eq(now), eq(2L), any(Pageable.class))).thenReturn(List.of(oldest));
+
+        CursorPage<CardTransactionResponse> second = userService.getTransactions(authentication, "1111", first.getNextCursor(), 2);
+
+        assertEquals(1, second.getItems().size());
+        assertNull(second.getNextCursor());
     }
 
     @Test
-    void requestBlockCard_shouldThrowAccessDenied_ifCardNotOwned() {
+    void getTransactions_shouldRejectMalformedCursor() {
         when(authentication.getName()).thenReturn("user@test.com");
 
-        UserEntity user = new UserEntity();
-        user.setId(1L);
+        when(cardRepository.findAccessByCardNumber("1111")).thenReturn(Optional.of(
+                new CardAccessView(10L, "1111", CardStatus.ACTIVE, BigDecimal.TEN, "user@test.com")));
+
+        assertThrows(InvalidRequestException.class,
+                () -> userService.getTransactions(authentication, "1111", "not-a-cursor", 20));
+        verifyNoInteractions(cardTransactionRepository);
+    }
+
+    @Test
+    void requestBlockCard_shouldBlockCard() {
+        when(authentication.getName()).thenReturn("user@test.com");
 
-        UserEntity otherUser = new UserEntity();
-        otherUser.setId(2L);
+        when(cardRepository.findAccessByCardNumber("1234")).thenReturn(Optional.of(
+                new CardAccessView(5L, "1234", CardStatus.ACTIVE, BigDecimal.TEN, "user@test.com")));
+        when(cardRepository.block(5L)).thenReturn(1);
 
-        CardEntity card = new CardEntity();
-        card.setUser(otherUser);
-        card.setCardStatus(CardStatus.ACTIVE);
+        userService.requestBlockCard(authentication, "1234");
+
+        verify(cardRepository).block(5L);
+        verifyNoInteractions(currentUserResolver);
+    }
+
+    @Test
+    void requestBlockCard_shouldThrowAccessDenied_ifCardNotOwned() {
+        when(authentication.getName()).thenReturn("user@test.com");
 
-        when(userRepository.findByEmail("user@test.com")).thenReturn(Optional.of(user));
-        when(cardRepository.findByCardNumber("1234")).thenReturn(Optional.of(card));
+        when(cardRepository.findAccessByCardNumber("1234")).thenReturn(Optional.of(
+                new CardAccessView(5L, "1234", CardStatus.ACTIVE, BigDecimal.TEN, "other@test.com")));
 
         assertThrows(AccessDeniedException.class,
                 () -> userService.requestBlockCard(authentication, "1234"));
+        verify(cardRepository, never()).block(anyLong());
     }
 
     @Test
     void requestBlockCard_shouldThrowCardInactive_ifCardNotActive() {
         when(authentication.getName()).thenReturn("user@test.com");
 
-        UserEntity user = new UserEntity();
-        user.setId(1L);
+        when(cardRepository.findAccessByCardNumber("1234")).thenReturn(Optional.of(
+                new CardAccessView(5L, "1234", CardStatus.BLOCKED, BigDecimal.TEN, "user@test.com")));
 
-        CardEntity card = new CardEntity();
-        card.setUser(user);
-        card.setCardStatus(CardStatus.BLOCKED);
+        assertThrows(CardInactiveException.class,
+                () -> userService.requestBlockCard(authentication, "1234"));
+        verify(cardRepository, never()).block(anyLong());
+    }
+
+    @Test
+    void requestBlockCard_shouldThrowCardInactive_whenConcurrentlyBlocked() {
+        when(authentication.getName()).thenReturn("user@test.com");
 
-        when(userRepository.findByEmail("user@test.com")).thenReturn(Optional.of(user));
-        when(cardRepository.findByCardNumber("1234")).thenReturn(Optional.of(card));
+        when(cardRepository.findAccessByCardNumber("1234")).thenReturn(Optional.of(
+                new CardAccessView(5L, "1234", CardStatus.ACTIVE, BigDecimal.TEN, "user@test.com")));
+        when(cardRepository.block(5L)).thenReturn(0);
 
         assertThrows(CardInactiveException.class,
                 () -> userService.requestBlockCard(authentication, "1234"));